@@ -0,0 +1,53 @@
+package com.shodhacode.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Separate thread pools for graded judging and for streaming fast-lane runs, so a judge
+ * backlog can never delay a custom-input run (or hold its sandbox and per-user slot).
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${judge.autoscale.max-sandboxes:16}")
+    private int maxSandboxes;
+
+    @Value("${run.stream.pool-size:8}")
+    private int runStreamPoolSize;
+
+    @Value("${run.stream.timeout-ms:30000}")
+    private long runStreamTimeoutMillis;
+
+    // One worker per sandbox the autoscaler may allow; the backlog waits in the queue
+    @Bean
+    public ThreadPoolTaskExecutor judgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxSandboxes);
+        executor.setMaxPoolSize(maxSandboxes);
+        executor.setThreadNamePrefix("judge-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes StreamingResponseBody output for /api/run; never shared with judging
+    @Bean
+    public ThreadPoolTaskExecutor runStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(runStreamPoolSize);
+        executor.setMaxPoolSize(runStreamPoolSize);
+        executor.setThreadNamePrefix("run-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(runStreamExecutor());
+        configurer.setDefaultTimeout(runStreamTimeoutMillis);
+    }
+}
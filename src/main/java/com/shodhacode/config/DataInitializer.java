@@ -24,6 +24,11 @@ public class DataInitializer {
 
     @PostConstruct
     public void init() {
+        // The database now persists across restarts; only seed an empty one
+        if (userRepository.count() > 0) {
+            return;
+        }
+
         // Users
         User alice = new User();
         alice.setUsername("alice");
@@ -1,9 +1,12 @@
 package com.shodhacode.controller;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.shodhacode.model.Contest;
 import com.shodhacode.repository.ContestRepository;
 import com.shodhacode.repository.SubmissionRepository;
+import com.shodhacode.service.PlagiarismService;
 
 import java.util.List;
 import java.util.Map;
@@ -16,10 +19,13 @@ public class ContestController {
 
     private final ContestRepository contestRepository;
     private final SubmissionRepository submissionRepository;
+    private final PlagiarismService plagiarismService;
 
-    public ContestController(ContestRepository contestRepository, SubmissionRepository submissionRepository) {
+    public ContestController(ContestRepository contestRepository, SubmissionRepository submissionRepository,
+                             PlagiarismService plagiarismService) {
         this.contestRepository = contestRepository;
         this.submissionRepository = submissionRepository;
+        this.plagiarismService = plagiarismService;
     }
 
     @GetMapping
@@ -64,4 +70,28 @@ public class ContestController {
         
         return leaderboard;
     }
+
+    @PostMapping("/{contestId}/similarity")
+    public ResponseEntity<Map<String, Object>> startSimilarityReport(@PathVariable Long contestId,
+                                                                     @RequestParam(defaultValue = "0.6") double threshold,
+                                                                     @RequestParam(defaultValue = "100") int limit) {
+        // Post-contest check: rank pairs of accepted solutions that look copied, in the background
+        if (!contestRepository.existsById(contestId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be at least 1"));
+        }
+        if (!(threshold > 0 && threshold <= 1)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "threshold must be above 0 and at most 1"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(plagiarismService.startReport(contestId, threshold, limit));
+    }
+
+    @GetMapping("/{contestId}/similarity")
+    public ResponseEntity<Map<String, Object>> getSimilarityReport(@PathVariable Long contestId) {
+        Map<String, Object> report = plagiarismService.getReport(contestId);
+        return report == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(report);
+    }
 }
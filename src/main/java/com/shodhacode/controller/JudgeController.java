@@ -0,0 +1,92 @@
+package com.shodhacode.controller;
+
+import com.shodhacode.service.JudgeRecording;
+import com.shodhacode.service.JudgeReplayService;
+import com.shodhacode.service.SandboxAutoscaler;
+import com.shodhacode.service.SandboxConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/judge")
+public class JudgeController {
+
+    @Autowired
+    private SandboxAutoscaler sandboxAutoscaler;
+
+    @Autowired
+    private JudgeReplayService judgeReplayService;
+
+    @GetMapping("/capacity")
+    public Map<String, Object> getCapacity() {
+        return sandboxAutoscaler.getMetrics();
+    }
+
+    @GetMapping("/recordings")
+    public List<JudgeRecording> getRecordings(@RequestParam(required = false) Long problemId,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return judgeReplayService.record(problemId, limit);
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<?> replay(@RequestBody ReplayRequest request,
+                                    @RequestParam(required = false) Long problemId,
+                                    @RequestParam(defaultValue = "100") int limit,
+                                    @RequestParam(defaultValue = "4") int parallelism,
+                                    @RequestParam(defaultValue = "false") boolean fake) {
+        if (!fake && !judgeReplayService.isDockerReplayEnabled()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Docker replays are disabled (judge.replay.docker-enabled)"));
+        }
+
+        // Replay an archived recording set if one is posted, otherwise record from history now
+        List<JudgeRecording> recordings = request.getRecordings() != null
+                ? request.getRecordings()
+                : judgeReplayService.record(problemId, limit);
+        SandboxConfig candidate = request.getCandidate() != null ? request.getCandidate() : new SandboxConfig();
+
+        // Runs in the background; poll GET /replay/{id} for the report
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(judgeReplayService.startReplay(recordings, candidate, parallelism, fake));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/replay/{id}")
+    public ResponseEntity<Map<String, Object>> getReplay(@PathVariable Long id) {
+        Map<String, Object> replay = judgeReplayService.getReplay(id);
+        return replay == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(replay);
+    }
+
+    public static class ReplayRequest {
+        private SandboxConfig candidate;
+        private List<JudgeRecording> recordings;
+
+        public SandboxConfig getCandidate() {
+            return candidate;
+        }
+
+        public void setCandidate(SandboxConfig candidate) {
+            this.candidate = candidate;
+        }
+
+        public List<JudgeRecording> getRecordings() {
+            return recordings;
+        }
+
+        public void setRecordings(List<JudgeRecording> recordings) {
+            this.recordings = recordings;
+        }
+    }
+}
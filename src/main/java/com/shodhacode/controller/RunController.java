@@ -0,0 +1,62 @@
+package com.shodhacode.controller;
+
+import com.shodhacode.repository.UserRepository;
+import com.shodhacode.service.RunService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/run")
+public class RunController {
+
+    @Autowired
+    private RunService runService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PostMapping
+    public ResponseEntity<StreamingResponseBody> runCode(@RequestBody Map<String, Object> request) {
+        // Typed as StreamingResponseBody so Spring streams it; errors go through ResponseStatusException
+        Object userId = request.get("userId");
+        Object code = request.get("code");
+        Object input = request.get("input");
+
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is required");
+        }
+        if (code == null || code.toString().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Code is required");
+        }
+
+        Long parsedUserId;
+        try {
+            parsedUserId = Long.valueOf(userId.toString());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId must be a number");
+        }
+        // Limits are per user, so made-up ids must not get slots of their own
+        if (!userRepository.existsById(parsedUserId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        // Scratch run: nothing is saved, output streams back as the program produces it
+        StreamingResponseBody body = runService.tryStart(parsedUserId, code.toString(),
+                input == null ? "" : input.toString());
+        if (body == null) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many runs in progress, try again shortly");
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(body);
+    }
+}
@@ -2,6 +2,7 @@ package com.shodhacode.controller;
 
 import com.shodhacode.model.User;
 import com.shodhacode.repository.UserRepository;
+import com.shodhacode.service.UserProgressService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +20,9 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProgressService userProgressService;
+
     @GetMapping
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -31,6 +35,15 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<Map<String, Object>> getUserSummary(@PathVariable Long id) {
+        // Served from in-memory aggregates instead of shipping every submission to the client
+        if (!userRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(userProgressService.getSummary(id));
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody Map<String, String> request) {
         String username = request.get("username");
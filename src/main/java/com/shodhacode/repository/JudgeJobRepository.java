@@ -0,0 +1,43 @@
+package com.shodhacode.repository;
+
+import com.shodhacode.model.JudgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JudgeJobRepository extends JpaRepository<JudgeJob, Long> {
+
+    long countByStatus(String status);
+
+    // Compare-and-set: only one worker can move a job from Queued (or an expired lease) to Leased
+    @Modifying
+    @Transactional
+    @Query("update JudgeJob j set j.status = 'Leased', j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt, " +
+           "j.attempts = j.attempts + 1 where j.id = :id and " +
+           "(j.status = 'Queued' or (j.status = 'Leased' and j.leaseExpiresAt < :now))")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Succeeds only for the current lease holder, so a retried or stale worker cannot finish a job twice
+    @Modifying
+    @Transactional
+    @Query("update JudgeJob j set j.status = :status, j.leaseOwner = null, j.leaseExpiresAt = null, " +
+           "j.lastError = :error where j.id = :id and j.status = 'Leased' and j.leaseOwner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner,
+               @Param("status") String status, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("update JudgeJob j set j.status = 'Queued', j.leaseOwner = null, j.leaseExpiresAt = null " +
+           "where j.status = 'Leased' and j.leaseOwner = :owner")
+    int releaseAll(@Param("owner") String owner);
+
+    @Query("select j.id from JudgeJob j where (j.status = 'Queued' and j.createdAt < :queuedBefore) " +
+           "or (j.status = 'Leased' and j.leaseExpiresAt < :now) order by j.id")
+    List<Long> findRecoverableIds(@Param("now") LocalDateTime now, @Param("queuedBefore") LocalDateTime queuedBefore);
+}
@@ -3,4 +3,8 @@ package com.shodhacode.repository;
 import com.shodhacode.model.Problem;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ProblemRepository extends JpaRepository<Problem, Long> {}
+import java.util.List;
+
+public interface ProblemRepository extends JpaRepository<Problem, Long> {
+    List<Problem> findByContestId(Long contestId);
+}
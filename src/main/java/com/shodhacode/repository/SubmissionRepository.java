@@ -1,11 +1,31 @@
 package com.shodhacode.repository;
 
 import com.shodhacode.model.Submission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findByUserId(Long userId);
     List<Submission> findByProblemId(Long problemId);
+    List<Submission> findByProblemIdAndStatus(Long problemId, String status);
+    List<Submission> findByStatusIn(Collection<String> statuses, Pageable pageable);
+    List<Submission> findByProblemIdAndStatusIn(Long problemId, Collection<String> statuses, Pageable pageable);
+
+    // Verdict rows for rebuilding dashboard aggregates, without loading the code
+    @Query("select u.id, p.id, s.status, s.submittedAt from Submission s join s.user u join s.problem p " +
+           "where s.status not in ('Pending', 'Running')")
+    List<Object[]> findJudgedVerdicts();
+
+    // Never overwrites a final verdict, so replaying a judge job is harmless
+    @Modifying
+    @Transactional
+    @Query("update Submission s set s.status = :status where s.id = :id and s.status in ('Pending', 'Running')")
+    int updateStatusIfNotJudged(@Param("id") Long id, @Param("status") String status);
 }
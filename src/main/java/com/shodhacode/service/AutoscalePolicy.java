@@ -0,0 +1,83 @@
+package com.shodhacode.service;
+
+/**
+ * Decides how many sandboxes may run at once. Pure function of the observed load so the
+ * live autoscaler and the simulator share exactly the same decisions.
+ */
+public class AutoscalePolicy {
+
+    private static final double HEADROOM = 1.2;   // Spare capacity on top of the steady-state estimate
+
+    private final int minSandboxes;
+    private final int maxSandboxes;
+    private final long sloMillis;
+    private final double cpuHighWater;
+    private final double memoryHighWater;
+
+    public AutoscalePolicy(int minSandboxes, int maxSandboxes, long sloMillis,
+                           double cpuHighWater, double memoryHighWater) {
+        if (minSandboxes < 1 || maxSandboxes < minSandboxes) {
+            throw new IllegalArgumentException("Sandbox bounds must satisfy 1 <= min <= max");
+        }
+        this.minSandboxes = minSandboxes;
+        this.maxSandboxes = maxSandboxes;
+        this.sloMillis = sloMillis;
+        this.cpuHighWater = cpuHighWater;
+        this.memoryHighWater = memoryHighWater;
+    }
+
+    /**
+     * @param current Sandboxes currently allowed
+     * @param active Sandboxes currently running
+     * @param queueLength Jobs waiting for a sandbox
+     * @param arrivalRate Jobs arriving per second
+     * @param p50Millis Median execution time (0 if nothing measured yet)
+     * @param p95Millis 95th percentile execution time
+     * @param cpuLoad Host CPU load, 0..1
+     * @param memoryUsage Host memory in use, 0..1
+     * @return The new sandbox limit, within the configured bounds
+     */
+    public int decide(int current, int active, int queueLength, double arrivalRate, long p50Millis, long p95Millis,
+                      double cpuLoad, double memoryUsage) {
+        int desired;
+        if (p50Millis <= 0) {
+            // Nothing measured yet: grow by the backlog so the first burst is not serialized
+            desired = current + queueLength;
+        } else {
+            // Little's law: sandboxes kept busy on average by the arrival rate
+            int steady = (int) Math.ceil(arrivalRate * p50Millis / 1000.0 * HEADROOM);
+            // Extra sandboxes so the backlog drains before queued jobs breach the SLO
+            long budget = Math.max(sloMillis - p95Millis, p50Millis);
+            int drain = (int) Math.ceil((double) queueLength * p50Millis / budget);
+            desired = steady + drain;
+        }
+
+        // Cap growth at the count the host can carry if each new sandbox costs what a running one does
+        if (desired > current && active > 0 && cpuLoad > 0) {
+            int cpuBound = (int) Math.floor(cpuHighWater * active / cpuLoad);
+            desired = Math.max(current, Math.min(desired, cpuBound));
+        }
+        // Shrink one step per tick so a short lull does not strand the next burst
+        if (desired < current) {
+            desired = current - 1;
+        }
+        // Never add sandboxes to a host that is already saturated; give one back instead
+        if (cpuLoad >= cpuHighWater || memoryUsage >= memoryHighWater) {
+            desired = Math.min(desired, current - 1);
+        }
+
+        return Math.max(minSandboxes, Math.min(maxSandboxes, desired));
+    }
+
+    public int getMinSandboxes() {
+        return minSandboxes;
+    }
+
+    public int getMaxSandboxes() {
+        return maxSandboxes;
+    }
+
+    public long getSloMillis() {
+        return sloMillis;
+    }
+}
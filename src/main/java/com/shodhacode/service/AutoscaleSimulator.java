@@ -0,0 +1,211 @@
+package com.shodhacode.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Local simulation mode for the autoscaler. Replays a load ramp against a fake sandbox
+ * launcher on a virtual clock, driving the same {@link AutoscalePolicy} and
+ * {@link JudgeLoadWindow} as production, and reports time-to-verdict per phase.
+ * Runs in milliseconds of real time, so it is cheap enough for CI.
+ */
+public class AutoscaleSimulator {
+
+    private static final long TICK_MILLIS = 2000;        // Same cadence as judge.autoscale.interval-ms
+    private static final double CPU_PER_SANDBOX = 0.5;   // Matches the --cpus limit of a judge container
+
+    private final AutoscalePolicy policy;
+    private final int hostCores;
+    private final long meanRunMillis;
+    private final Random random;
+
+    /**
+     * @param policy Policy under test
+     * @param hostCores Cores of the simulated host; runs slow down once sandboxes oversubscribe them
+     * @param meanRunMillis Mean run time of the fake launcher
+     * @param seed Seed for arrivals and run times, so replays are deterministic
+     */
+    public AutoscaleSimulator(AutoscalePolicy policy, int hostCores, long meanRunMillis, long seed) {
+        this.policy = policy;
+        this.hostCores = hostCores;
+        this.meanRunMillis = meanRunMillis;
+        this.random = new Random(seed);
+    }
+
+    public List<PhaseReport> replay(List<Phase> ramp) {
+        PriorityQueue<Event> events = new PriorityQueue<>();
+        long phaseStart = 0;
+        List<List<Long>> verdictTimes = new ArrayList<>();
+        int[] maxLimit = new int[ramp.size()];
+        long[] phaseEnds = new long[ramp.size()];
+
+        // Poisson arrivals for each phase of the ramp
+        for (int i = 0; i < ramp.size(); i++) {
+            Phase phase = ramp.get(i);
+            long phaseEnd = phaseStart + phase.durationMillis;
+            double t = phaseStart;
+            while (phase.ratePerSecond > 0) {
+                t += -Math.log(1 - random.nextDouble()) * 1000.0 / phase.ratePerSecond;
+                if (t >= phaseEnd) {
+                    break;
+                }
+                events.add(Event.arrival((long) t, i));
+            }
+            verdictTimes.add(new ArrayList<>());
+            phaseEnds[i] = phaseEnd;
+            phaseStart = phaseEnd;
+        }
+        events.add(Event.tick(TICK_MILLIS));
+
+        JudgeLoadWindow window = new JudgeLoadWindow(30_000, 8192, 512);
+        ArrayDeque<Event> queue = new ArrayDeque<>();
+        int limit = policy.getMinSandboxes();
+        int running = 0;
+        int pending = events.size() - 1;
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            long now = event.time;
+
+            if (event.type == Event.ARRIVAL) {
+                window.recordArrival(now);
+                queue.add(event);
+            } else if (event.type == Event.COMPLETION) {
+                running--;
+                pending--;
+                window.recordExecution(event.runMillis);
+                window.recordTimeToVerdict(now - event.arrivedAt);
+                verdictTimes.get(event.phase).add(now - event.arrivedAt);
+            } else {
+                double cpuLoad = Math.min(1.0, running * CPU_PER_SANDBOX / hostCores);
+                limit = policy.decide(limit, running, queue.size(), window.arrivalRate(now),
+                    window.executionPercentile(0.5), window.executionPercentile(0.95), cpuLoad, 0);
+                int phase = phaseAt(phaseEnds, now);
+                maxLimit[phase] = Math.max(maxLimit[phase], limit);
+                if (pending > 0) {
+                    events.add(Event.tick(now + TICK_MILLIS));
+                }
+            }
+
+            while (running < limit && !queue.isEmpty()) {
+                Event job = queue.poll();
+                running++;
+                long runMillis = launch(running);
+                events.add(Event.completion(now + runMillis, job.arrivedAt, job.phase, runMillis));
+            }
+        }
+
+        List<PhaseReport> reports = new ArrayList<>();
+        for (int i = 0; i < ramp.size(); i++) {
+            reports.add(new PhaseReport(ramp.get(i).ratePerSecond, verdictTimes.get(i), maxLimit[i]));
+        }
+        return reports;
+    }
+
+    // Fake launcher: log-normal run time, stretched when running sandboxes oversubscribe the host
+    private long launch(int running) {
+        double jitter = Math.exp(random.nextGaussian() * 0.5 - 0.125);
+        double contention = Math.max(1.0, running * CPU_PER_SANDBOX / hostCores);
+        return Math.max(1, (long) (meanRunMillis * jitter * contention));
+    }
+
+    private static int phaseAt(long[] phaseEnds, long time) {
+        for (int i = 0; i < phaseEnds.length; i++) {
+            if (time < phaseEnds[i]) {
+                return i;
+            }
+        }
+        return phaseEnds.length - 1;
+    }
+
+    public static class Phase {
+        private final double ratePerSecond;
+        private final long durationMillis;
+
+        public Phase(double ratePerSecond, long durationSeconds) {
+            this.ratePerSecond = ratePerSecond;
+            this.durationMillis = durationSeconds * 1000;
+        }
+    }
+
+    public static class PhaseReport {
+        private final double ratePerSecond;
+        private final int jobs;
+        private final long p95TimeToVerdictMillis;
+        private final int maxSandboxes;
+
+        PhaseReport(double ratePerSecond, List<Long> verdictTimes, int maxSandboxes) {
+            this.ratePerSecond = ratePerSecond;
+            this.jobs = verdictTimes.size();
+            this.maxSandboxes = maxSandboxes;
+            Collections.sort(verdictTimes);
+            this.p95TimeToVerdictMillis = verdictTimes.isEmpty() ? 0
+                : verdictTimes.get(Math.max(0, (int) Math.ceil(0.95 * verdictTimes.size()) - 1));
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public int getJobs() {
+            return jobs;
+        }
+
+        public long getP95TimeToVerdictMillis() {
+            return p95TimeToVerdictMillis;
+        }
+
+        public int getMaxSandboxes() {
+            return maxSandboxes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rate=%.1f/s jobs=%d p95TimeToVerdict=%dms maxSandboxes=%d",
+                ratePerSecond, jobs, p95TimeToVerdictMillis, maxSandboxes);
+        }
+    }
+
+    private static class Event implements Comparable<Event> {
+        static final int ARRIVAL = 0;
+        static final int COMPLETION = 1;
+        static final int TICK = 2;
+
+        final long time;
+        final int type;
+        final long arrivedAt;
+        final int phase;
+        final long runMillis;
+
+        private Event(long time, int type, long arrivedAt, int phase, long runMillis) {
+            this.time = time;
+            this.type = type;
+            this.arrivedAt = arrivedAt;
+            this.phase = phase;
+            this.runMillis = runMillis;
+        }
+
+        static Event arrival(long time, int phase) {
+            return new Event(time, ARRIVAL, time, phase, 0);
+        }
+
+        static Event completion(long time, long arrivedAt, int phase, long runMillis) {
+            return new Event(time, COMPLETION, arrivedAt, phase, runMillis);
+        }
+
+        static Event tick(long time) {
+            return new Event(time, TICK, time, 0, 0);
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            // Completions first at equal times so freed sandboxes are visible to arrivals and ticks
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Integer.compare(other.type == COMPLETION ? 1 : 0, type == COMPLETION ? 1 : 0);
+        }
+    }
+}
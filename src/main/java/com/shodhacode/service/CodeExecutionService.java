@@ -5,19 +5,24 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 public class CodeExecutionService {
 
-    private static final String DOCKER_IMAGE = "shodhacode-python-runner";
-    private static final int TIMEOUT_SECONDS = 5;
-    private static final String MEMORY_LIMIT = "128m";
-    private static final String CPU_LIMIT = "0.5";
+    private static final SandboxConfig JUDGE_SANDBOX = new SandboxConfig();
 
     /**
      * Executes user-submitted code in a secure Docker container
@@ -27,38 +32,27 @@ public class CodeExecutionService {
      * @return The output of the program
      */
     public String executeCode(String code, String input) {
+        return executeCode(code, input, JUDGE_SANDBOX);
+    }
+
+    /**
+     * Executes code with explicit sandbox settings, e.g. a candidate configuration under replay
+     * 
+     * @param code The source code to execute
+     * @param input The input data for the program
+     * @param sandbox Image and resource limits to run with
+     * @return The output of the program
+     */
+    public String executeCode(String code, String input, SandboxConfig sandbox) {
         Path tempDir = null;
-        String containerId = null;
         
         try {
-            // Create temporary directory for code
-            tempDir = Files.createTempDirectory("shodhacode_");
-            File codeFile = new File(tempDir.toFile(), "solution.py");
-
-            // Write code to file
-            try (FileWriter writer = new FileWriter(codeFile)) {
-                writer.write(code);
-            }
-
-            // Create input file
-            File inputFile = new File(tempDir.toFile(), "input.txt");
-            if (input != null && !input.isEmpty()) {
-                try (FileWriter writer = new FileWriter(inputFile)) {
-                    writer.write(input);
-                }
-            }
+            // Create temporary directory holding the code and input files
+            tempDir = prepareWorkspace(code, input);
 
             // Build Docker run command with resource limits
             ProcessBuilder processBuilder = new ProcessBuilder(
-                "docker", "run",
-                "--rm",                                      // Remove container after execution
-                "--network", "none",                         // Disable network access
-                "--memory", MEMORY_LIMIT,                    // Memory limit
-                "--cpus", CPU_LIMIT,                         // CPU limit
-                "--pids-limit", "50",                        // Limit number of processes
-                "-v", tempDir.toAbsolutePath() + ":/app/code:ro",  // Mount code as read-only
-                "-i",                                        // Interactive for stdin
-                DOCKER_IMAGE
+                dockerCommand(tempDir, null, sandbox)
             );
 
             Process process = processBuilder.start();
@@ -70,7 +64,7 @@ public class CodeExecutionService {
             }
 
             // Wait for execution with timeout
-            boolean finished = process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            boolean finished = process.waitFor(sandbox.getTimeoutSeconds(), TimeUnit.SECONDS);
             
             if (!finished) {
                 process.destroy();
@@ -91,6 +85,9 @@ public class CodeExecutionService {
                         error.append(line).append("\n");
                     }
                 }
+                if (isSandboxFailure(exitCode)) {
+                    return "Execution Error: " + error.toString().trim();
+                }
                 return "Runtime Error: " + error.toString().trim();
             }
 
@@ -109,20 +106,174 @@ public class CodeExecutionService {
         } catch (Exception e) {
             return "Execution Error: " + e.getMessage();
         } finally {
-            // Clean up temporary files
-            if (tempDir != null) {
-                try {
-                    File[] files = tempDir.toFile().listFiles();
-                    if (files != null) {
-                        for (File file : files) {
-                            file.delete();
-                        }
+            cleanup(tempDir);
+        }
+    }
+
+    /**
+     * Executes code in a Docker container and streams its combined stdout/stderr
+     * to the given sink as it is produced. Nothing is persisted.
+     * 
+     * @param code The source code to execute
+     * @param input The stdin for the program
+     * @param out Where program output is written and flushed chunk by chunk
+     * @param sandbox Image and resource limits; the timeout is a wall-clock limit before the container is killed
+     * @param maxOutputBytes Output is cut off (and the container killed) past this size
+     */
+    public void streamCode(String code, String input, OutputStream out, SandboxConfig sandbox,
+                           int maxOutputBytes) throws IOException {
+        Path tempDir = null;
+        String containerName = "shodhacode-run-" + UUID.randomUUID();
+        
+        try {
+            tempDir = prepareWorkspace(code, input);
+
+            ProcessBuilder processBuilder = new ProcessBuilder(
+                dockerCommand(tempDir, containerName, sandbox)
+            );
+            streamProcess(processBuilder, input, out, sandbox.getTimeoutSeconds(), maxOutputBytes,
+                process -> killContainer(containerName, process));
+        } finally {
+            cleanup(tempDir);
+        }
+    }
+
+    /**
+     * Streams a started process's combined output, enforcing the time and output limits.
+     * Separate from the Docker setup so the limits can be exercised with plain processes.
+     *
+     * @param killer Stops the process; for Docker this must remove the container too
+     */
+    void streamProcess(ProcessBuilder processBuilder, String input, OutputStream out, int timeoutSeconds,
+                       int maxOutputBytes, Consumer<Process> killer) throws IOException {
+        Process process = null;
+
+        try {
+            processBuilder.redirectErrorStream(true);
+            Process started = processBuilder.start();
+            process = started;
+
+            if (input != null && !input.isEmpty()) {
+                started.getOutputStream().write(input.getBytes());
+            }
+            started.getOutputStream().close();
+
+            // Kill the process once the time limit passes; reading then hits end of stream
+            AtomicBoolean timedOut = new AtomicBoolean(false);
+            CompletableFuture.runAsync(() -> {
+                if (started.isAlive()) {
+                    timedOut.set(true);
+                    killer.accept(started);
+                }
+            }, CompletableFuture.delayedExecutor(timeoutSeconds, TimeUnit.SECONDS));
+
+            byte[] buffer = new byte[1024];
+            int total = 0;
+            boolean truncated = false;
+            try (InputStream stdout = started.getInputStream()) {
+                int read;
+                while ((read = stdout.read(buffer)) != -1) {
+                    int allowed = Math.min(read, maxOutputBytes - total);
+                    out.write(buffer, 0, allowed);
+                    out.flush();
+                    total += allowed;
+                    if (total >= maxOutputBytes) {
+                        truncated = true;
+                        killer.accept(started);
+                        break;
+                    }
+                }
+            }
+
+            started.waitFor(1, TimeUnit.SECONDS);
+            if (truncated) {
+                out.write("\nOutput Limit Exceeded\n".getBytes());
+            } else if (timedOut.get()) {
+                out.write("\nTime Limit Exceeded\n".getBytes());
+            } else if (!started.isAlive() && isSandboxFailure(started.exitValue())) {
+                out.write(("\nExecution Error: sandbox failed to start (exit code " + started.exitValue() + ")\n").getBytes());
+            } else if (!started.isAlive() && started.exitValue() != 0) {
+                out.write(("\nRuntime Error (exit code " + started.exitValue() + ")\n").getBytes());
+            }
+            out.flush();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Also covers the client disconnecting mid-stream
+            if (process != null && process.isAlive()) {
+                killer.accept(process);
+            }
+        }
+    }
+
+    // 125-127 come from docker itself (missing image, bad limits), not the program
+    private static boolean isSandboxFailure(int exitCode) {
+        return exitCode >= 125 && exitCode <= 127;
+    }
+
+    private Path prepareWorkspace(String code, String input) throws IOException {
+        Path tempDir = Files.createTempDirectory("shodhacode_");
+        File codeFile = new File(tempDir.toFile(), "solution.py");
+
+        // Write code to file
+        try (FileWriter writer = new FileWriter(codeFile)) {
+            writer.write(code);
+        }
+
+        // Create input file
+        File inputFile = new File(tempDir.toFile(), "input.txt");
+        if (input != null && !input.isEmpty()) {
+            try (FileWriter writer = new FileWriter(inputFile)) {
+                writer.write(input);
+            }
+        }
+        return tempDir;
+    }
+
+    private List<String> dockerCommand(Path tempDir, String containerName, SandboxConfig sandbox) {
+        List<String> command = new ArrayList<>(List.of(
+            "docker", "run",
+            "--rm",                                      // Remove container after execution
+            "--network", "none",                         // Disable network access
+            "--memory", sandbox.getMemoryLimit(),        // Memory limit
+            "--cpus", sandbox.getCpuLimit(),             // CPU limit
+            "--pids-limit", "50",                        // Limit number of processes
+            "-v", tempDir.toAbsolutePath() + ":/app/code:ro",  // Mount code as read-only
+            "-i"                                         // Interactive for stdin
+        ));
+        if (containerName != null) {
+            command.add("--name");                       // Named so it can be killed on timeout
+            command.add(containerName);
+        }
+        command.add(sandbox.getImage());
+        return command;
+    }
+
+    private void killContainer(String containerName, Process process) {
+        // Destroying the docker CLI alone leaves the container running
+        try {
+            new ProcessBuilder("docker", "rm", "-f", containerName).start().waitFor(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Failed to kill container " + containerName + ": " + e.getMessage());
+        }
+        process.destroyForcibly();
+    }
+
+    private void cleanup(Path tempDir) {
+        // Clean up temporary files
+        if (tempDir != null) {
+            try {
+                File[] files = tempDir.toFile().listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
                     }
-                    tempDir.toFile().delete();
-                } catch (Exception e) {
-                    // Log but don't fail
-                    System.err.println("Failed to clean up temp directory: " + e.getMessage());
                 }
+                tempDir.toFile().delete();
+            } catch (Exception e) {
+                // Log but don't fail
+                System.err.println("Failed to clean up temp directory: " + e.getMessage());
             }
         }
     }
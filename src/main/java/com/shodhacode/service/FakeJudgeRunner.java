@@ -0,0 +1,37 @@
+package com.shodhacode.service;
+
+import java.util.function.Predicate;
+
+/**
+ * Judge runner for CI: reproduces each recording's verdict after a fixed delay, without
+ * Docker. Recordings matching {@code flipped} get the opposite verdict, which simulates
+ * a candidate configuration that changes outcomes.
+ */
+public class FakeJudgeRunner implements JudgeRunner {
+
+    private final long latencyMillis;
+    private final Predicate<JudgeRecording> flipped;
+
+    public FakeJudgeRunner(long latencyMillis) {
+        this(latencyMillis, recording -> false);
+    }
+
+    public FakeJudgeRunner(long latencyMillis, Predicate<JudgeRecording> flipped) {
+        this.latencyMillis = latencyMillis;
+        this.flipped = flipped;
+    }
+
+    @Override
+    public String run(JudgeRecording recording) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during fake run", e);
+            }
+        }
+        boolean accepted = "Accepted".equals(recording.getRecordedVerdict()) ^ flipped.test(recording);
+        return accepted ? recording.getExpectedOutput() : "fake wrong answer";
+    }
+}
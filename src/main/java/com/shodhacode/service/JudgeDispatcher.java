@@ -0,0 +1,54 @@
+package com.shodhacode.service;
+
+import com.shodhacode.repository.JudgeJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hands judge jobs to {@link JudgeService} and recovers the ones nobody is working on:
+ * queued jobs that were never dispatched and leases whose worker died.
+ */
+@Service
+public class JudgeDispatcher {
+
+    private static final long QUEUED_GRACE_SECONDS = 30; // Fresh queued jobs are still on their way to a worker
+
+    @Autowired
+    private JudgeJobRepository judgeJobRepository;
+
+    @Autowired
+    private JudgeService judgeService;
+
+    public void dispatch(Long jobId) {
+        if (judgeService.markDispatched(jobId)) {
+            judgeService.processJob(jobId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        // Nothing queued before this JVM started can still be on its way to a worker
+        int recovered = recover(LocalDateTime.now());
+        if (recovered > 0) {
+            System.out.println("♻️ Requeued " + recovered + " unfinished judge jobs");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${judge.recovery.interval-ms:30000}",
+               initialDelayString = "${judge.recovery.interval-ms:30000}")
+    public void sweep() {
+        recover(LocalDateTime.now().minusSeconds(QUEUED_GRACE_SECONDS));
+    }
+
+    private int recover(LocalDateTime queuedBefore) {
+        List<Long> jobIds = judgeJobRepository.findRecoverableIds(LocalDateTime.now(), queuedBefore);
+        jobIds.forEach(this::dispatch);
+        return jobIds.size();
+    }
+}
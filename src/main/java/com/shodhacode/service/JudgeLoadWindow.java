@@ -0,0 +1,80 @@
+package com.shodhacode.service;
+
+import java.util.Arrays;
+
+/**
+ * Rolling view of judge load: recent arrival times plus the last N execution and
+ * time-to-verdict samples. Time is passed in by the caller so the simulator can
+ * drive it with a virtual clock.
+ */
+public class JudgeLoadWindow {
+
+    private final long windowMillis;
+    private final long[] arrivals;
+    private final long[] executions;
+    private final long[] verdictLatencies;
+    private int arrivalCount;
+    private int executionCount;
+    private int verdictCount;
+
+    public JudgeLoadWindow(long windowMillis, int maxArrivals, int maxSamples) {
+        this.windowMillis = windowMillis;
+        this.arrivals = new long[maxArrivals];
+        this.executions = new long[maxSamples];
+        this.verdictLatencies = new long[maxSamples];
+    }
+
+    public synchronized void recordArrival(long nowMillis) {
+        arrivals[arrivalCount++ % arrivals.length] = nowMillis;
+    }
+
+    public synchronized void recordExecution(long durationMillis) {
+        executions[executionCount++ % executions.length] = durationMillis;
+    }
+
+    public synchronized void recordTimeToVerdict(long durationMillis) {
+        verdictLatencies[verdictCount++ % verdictLatencies.length] = durationMillis;
+    }
+
+    /**
+     * @return Arrivals per second over the window (or since the first arrival, if more recent)
+     */
+    public synchronized double arrivalRate(long nowMillis) {
+        int stored = Math.min(arrivalCount, arrivals.length);
+        long cutoff = nowMillis - windowMillis;
+        int recent = 0;
+        long oldest = nowMillis;
+        for (int i = 0; i < stored; i++) {
+            if (arrivals[i] > cutoff) {
+                recent++;
+                oldest = Math.min(oldest, arrivals[i]);
+            }
+        }
+        if (recent == 0) {
+            return 0;
+        }
+        // Only the span that actually holds arrivals counts, so a burst after an idle period
+        // is not diluted over the whole window (and overwritten arrivals are not counted either)
+        long span = Math.min(windowMillis, nowMillis - oldest);
+        return recent * 1000.0 / Math.max(span, 1000);
+    }
+
+    public synchronized long executionPercentile(double p) {
+        return percentile(executions, executionCount, p);
+    }
+
+    public synchronized long timeToVerdictPercentile(double p) {
+        return percentile(verdictLatencies, verdictCount, p);
+    }
+
+    private static long percentile(long[] samples, int count, double p) {
+        int stored = Math.min(count, samples.length);
+        if (stored == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, stored);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p * stored) - 1;
+        return sorted[Math.max(0, Math.min(index, stored - 1))];
+    }
+}
@@ -0,0 +1,74 @@
+package com.shodhacode.service;
+
+/**
+ * One recorded judge input and its outcome, taken from submission history. Recordings
+ * carry their own test data, so an archived set replays the same way even after the
+ * problem's tests change; {@code testVersion} identifies which test data it was.
+ */
+public class JudgeRecording {
+
+    private Long submissionId;
+    private Long problemId;
+    private String testVersion;
+    private String code;
+    private String input;
+    private String expectedOutput;
+    private String recordedVerdict;
+
+    // Getters and Setters
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Long getProblemId() {
+        return problemId;
+    }
+
+    public void setProblemId(Long problemId) {
+        this.problemId = problemId;
+    }
+
+    public String getTestVersion() {
+        return testVersion;
+    }
+
+    public void setTestVersion(String testVersion) {
+        this.testVersion = testVersion;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public String getExpectedOutput() {
+        return expectedOutput;
+    }
+
+    public void setExpectedOutput(String expectedOutput) {
+        this.expectedOutput = expectedOutput;
+    }
+
+    public String getRecordedVerdict() {
+        return recordedVerdict;
+    }
+
+    public void setRecordedVerdict(String recordedVerdict) {
+        this.recordedVerdict = recordedVerdict;
+    }
+}
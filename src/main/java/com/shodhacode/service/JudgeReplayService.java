@@ -0,0 +1,269 @@
+package com.shodhacode.service;
+
+import com.shodhacode.model.Problem;
+import com.shodhacode.model.Submission;
+import com.shodhacode.repository.SubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records judge inputs from submission history and replays them against a candidate
+ * sandbox configuration, so judge changes can be measured before a contest.
+ * Docker replays are off unless an operator enables them, and candidates are limited to
+ * allow-listed images and bounded resource limits. Replays run one at a time as background
+ * jobs, and their Docker runs take sandboxes from {@link SandboxAutoscaler} like live judging.
+ */
+@Service
+public class JudgeReplayService {
+
+    // Errors are infrastructure outcomes, not reproducible verdicts
+    private static final List<String> REPLAYABLE_VERDICTS = List.of("Accepted", "Wrong Answer");
+    private static final long FAKE_LATENCY_MILLIS = 5;
+    private static final Pattern MEMORY_LIMIT = Pattern.compile("(\\d+)([mg])");
+    private static final int MAX_STORED_REPLAYS = 20;
+
+    @Value("${judge.replay.docker-enabled:false}")
+    private boolean dockerEnabled;
+
+    @Value("${judge.replay.allowed-images:" + SandboxConfig.DEFAULT_IMAGE + "}")
+    private List<String> allowedImages;
+
+    @Value("${judge.replay.max-parallelism:4}")
+    private int maxParallelism;
+
+    @Value("${judge.replay.max-recordings:500}")
+    private int maxRecordings;
+
+    @Value("${judge.replay.max-memory-mb:512}")
+    private int maxMemoryMb;
+
+    @Value("${judge.replay.max-cpus:1.0}")
+    private double maxCpus;
+
+    @Value("${judge.replay.max-timeout-seconds:10}")
+    private int maxTimeoutSeconds;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    private SandboxAutoscaler sandboxAutoscaler;
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicLong nextReplayId = new AtomicLong(1);
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Most recent replays only, oldest evicted first
+    private final Map<Long, Map<String, Object>> replays = Collections.synchronizedMap(
+        new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, Object>> eldest) {
+                return size() > MAX_STORED_REPLAYS;
+            }
+        });
+
+    /**
+     * @param problemId Only record this problem, or all problems if null
+     * @param limit Most recent judged submissions to record
+     */
+    public List<JudgeRecording> record(Long problemId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, maxRecordings)),
+            Sort.by(Sort.Direction.DESC, "id"));
+        List<Submission> submissions = problemId == null
+            ? submissionRepository.findByStatusIn(REPLAYABLE_VERDICTS, page)
+            : submissionRepository.findByProblemIdAndStatusIn(problemId, REPLAYABLE_VERDICTS, page);
+
+        List<JudgeRecording> recordings = new ArrayList<>();
+        for (Submission submission : submissions) {
+            Problem problem = submission.getProblem();
+            if (problem == null || problem.getInputExample() == null || problem.getOutputExample() == null) {
+                continue;
+            }
+            JudgeRecording recording = new JudgeRecording();
+            recording.setSubmissionId(submission.getId());
+            recording.setProblemId(problem.getId());
+            recording.setTestVersion(testVersion(problem.getInputExample(), problem.getOutputExample()));
+            recording.setCode(submission.getCode());
+            recording.setInput(problem.getInputExample());
+            recording.setExpectedOutput(problem.getOutputExample());
+            recording.setRecordedVerdict(submission.getStatus());
+            recordings.add(recording);
+        }
+        return recordings;
+    }
+
+    public boolean isDockerReplayEnabled() {
+        return dockerEnabled;
+    }
+
+    /**
+     * Starts replaying recordings against the current judge settings (baseline) and the candidate
+     * in the background. In fake mode neither pass touches Docker, which exercises the pipeline in CI.
+     * Parallelism and the number of recordings are clamped to the configured maximums.
+     *
+     * @return The replay entry, with status Running; poll {@link #getReplay} for the report
+     * @throws IllegalStateException if Docker replays are disabled or another replay is running
+     * @throws IllegalArgumentException if a recording is incomplete, or the candidate's image or limits are not allowed
+     */
+    public Map<String, Object> startReplay(List<JudgeRecording> recordings, SandboxConfig candidate,
+                                           int parallelism, boolean fake) {
+        if (!fake) {
+            if (!dockerEnabled) {
+                throw new IllegalStateException("Docker replays are disabled (judge.replay.docker-enabled)");
+            }
+            validate(candidate);
+        }
+        validate(recordings);
+        List<JudgeRecording> replayed = recordings.size() > maxRecordings
+            ? new ArrayList<>(recordings.subList(0, maxRecordings))
+            : recordings;
+        int clampedParallelism = Math.max(1, Math.min(parallelism, maxParallelism));
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Another replay is still running");
+        }
+        Long id = nextReplayId.getAndIncrement();
+        Map<String, Object> replay = new LinkedHashMap<>();
+        replay.put("id", id);
+        replay.put("status", "Running");
+        replay.put("fake", fake);
+        replay.put("recordings", replayed.size());
+        replay.put("parallelism", clampedParallelism);
+        replay.put("startedAt", LocalDateTime.now());
+        replays.put(id, replay);
+
+        try {
+            replayExecutor.submit(() -> {
+                Map<String, Object> finished = new LinkedHashMap<>(replay);
+                try {
+                    finished.put("report", replay(replayed, candidate, clampedParallelism, fake));
+                    finished.put("status", "Done");
+                } catch (RuntimeException e) {
+                    System.err.println("Judge replay " + id + " failed: " + e.getMessage());
+                    finished.put("status", "Failed");
+                    finished.put("error", e.getMessage());
+                } finally {
+                    finished.put("finishedAt", LocalDateTime.now());
+                    replays.put(id, finished);
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            replays.remove(id);
+            throw new IllegalStateException("Replay executor is shut down", e);
+        }
+        return replay;
+    }
+
+    /**
+     * @return The replay entry, or null if it is unknown or no longer kept
+     */
+    public Map<String, Object> getReplay(Long id) {
+        return replays.get(id);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+
+    private Map<String, Object> replay(List<JudgeRecording> recordings, SandboxConfig candidate,
+                                       int parallelism, boolean fake) {
+        JudgeRunner baselineRunner;
+        JudgeRunner candidateRunner;
+        if (fake) {
+            baselineRunner = new FakeJudgeRunner(FAKE_LATENCY_MILLIS);
+            candidateRunner = new FakeJudgeRunner(FAKE_LATENCY_MILLIS);
+        } else {
+            // Same sandbox gate as live judging, so the autoscaler sees replay load and it cannot oversubscribe the host
+            SandboxConfig current = new SandboxConfig();
+            baselineRunner = r -> sandboxAutoscaler.execute(System.currentTimeMillis(),
+                () -> codeExecutionService.executeCode(r.getCode(), r.getInput(), current));
+            candidateRunner = r -> sandboxAutoscaler.execute(System.currentTimeMillis(),
+                () -> codeExecutionService.executeCode(r.getCode(), r.getInput(), candidate));
+        }
+        return new JudgeReplayer(parallelism).compare(recordings, baselineRunner, candidateRunner);
+    }
+
+    // Posted recordings come from clients; anything missing would fail mid-replay instead of up front
+    private static void validate(List<JudgeRecording> recordings) {
+        for (int i = 0; i < recordings.size(); i++) {
+            JudgeRecording recording = recordings.get(i);
+            if (recording == null) {
+                throw new IllegalArgumentException("Recording " + i + " is empty");
+            }
+            if (recording.getCode() == null || recording.getInput() == null || recording.getExpectedOutput() == null) {
+                throw new IllegalArgumentException("Recording " + i + " needs code, input and expectedOutput");
+            }
+            if (!REPLAYABLE_VERDICTS.contains(recording.getRecordedVerdict())) {
+                throw new IllegalArgumentException("Recording " + i + " needs a recordedVerdict of " + REPLAYABLE_VERDICTS);
+            }
+        }
+    }
+
+    // Rejected rather than clamped: silently running a different config would make the report lie
+    private void validate(SandboxConfig candidate) {
+        if (!allowedImages.contains(candidate.getImage())) {
+            throw new IllegalArgumentException("Image not allowed for replay: " + candidate.getImage());
+        }
+
+        Matcher memory = MEMORY_LIMIT.matcher(String.valueOf(candidate.getMemoryLimit()).toLowerCase());
+        if (!memory.matches()) {
+            throw new IllegalArgumentException("memoryLimit must look like 128m or 1g");
+        }
+        long memoryMb = Long.parseLong(memory.group(1)) * ("g".equals(memory.group(2)) ? 1024 : 1);
+        if (memoryMb < 16 || memoryMb > maxMemoryMb) {
+            throw new IllegalArgumentException("memoryLimit must be between 16m and " + maxMemoryMb + "m");
+        }
+
+        double cpus;
+        try {
+            cpus = Double.parseDouble(String.valueOf(candidate.getCpuLimit()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cpuLimit must be a number");
+        }
+        if (!(cpus > 0) || cpus > maxCpus) {
+            throw new IllegalArgumentException("cpuLimit must be above 0 and at most " + maxCpus);
+        }
+
+        if (candidate.getTimeoutSeconds() < 1 || candidate.getTimeoutSeconds() > maxTimeoutSeconds) {
+            throw new IllegalArgumentException("timeoutSeconds must be between 1 and " + maxTimeoutSeconds);
+        }
+    }
+
+    // Content hash of the test data; problems have no explicit test versioning
+    private static String testVersion(String input, String expectedOutput) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((input + "\u0000" + expectedOutput).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
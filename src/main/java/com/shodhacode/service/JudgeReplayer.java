@@ -0,0 +1,205 @@
+package com.shodhacode.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Differential replay of recorded judge inputs. The same recordings run through a baseline
+ * and a candidate runner, one pass after the other so they never compete for the host, and
+ * the report lists verdicts the candidate changes plus latency and throughput deltas.
+ * Time limits and runtime errors are kept apart from wrong answers, and runs that never
+ * reached the program (sandbox or runner failures) are reported separately from verdict diffs.
+ */
+public class JudgeReplayer {
+
+    static final String INFRASTRUCTURE_FAILURE = "Infrastructure Failure";
+
+    private final int parallelism;
+
+    public JudgeReplayer(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public Map<String, Object> compare(List<JudgeRecording> recordings, JudgeRunner baseline, JudgeRunner candidate) {
+        Pass baselinePass = replay(recordings, baseline);
+        Pass candidatePass = replay(recordings, candidate);
+
+        List<Map<String, Object>> verdictDiffs = new ArrayList<>();
+        List<Map<String, Object>> infrastructureFailures = new ArrayList<>();
+        int baselineMismatches = 0;
+        for (int i = 0; i < recordings.size(); i++) {
+            JudgeRecording recording = recordings.get(i);
+            String baselineOutcome = baselinePass.outcomes[i];
+            String candidateOutcome = candidatePass.outcomes[i];
+            if (baselineOutcome.equals(INFRASTRUCTURE_FAILURE)) {
+                infrastructureFailures.add(failure(recording, "baseline", baselinePass.details[i]));
+            }
+            if (candidateOutcome.equals(INFRASTRUCTURE_FAILURE)) {
+                infrastructureFailures.add(failure(recording, "candidate", candidatePass.details[i]));
+            }
+            if (baselineOutcome.equals(INFRASTRUCTURE_FAILURE) || candidateOutcome.equals(INFRASTRUCTURE_FAILURE)) {
+                continue;
+            }
+
+            if (!judgedAs(baselineOutcome).equals(recording.getRecordedVerdict())) {
+                // The baseline itself no longer reproduces history: flaky code or environment drift
+                baselineMismatches++;
+            }
+            if (!candidateOutcome.equals(baselineOutcome)) {
+                Map<String, Object> diff = new LinkedHashMap<>();
+                diff.put("submissionId", recording.getSubmissionId());
+                diff.put("problemId", recording.getProblemId());
+                diff.put("testVersion", recording.getTestVersion());
+                diff.put("recordedVerdict", recording.getRecordedVerdict());
+                diff.put("baselineVerdict", baselineOutcome);
+                diff.put("candidateVerdict", candidateOutcome);
+                verdictDiffs.add(diff);
+            }
+        }
+
+        Map<String, Object> baselineStats = baselinePass.stats();
+        Map<String, Object> candidateStats = candidatePass.stats();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("recordings", recordings.size());
+        report.put("parallelism", parallelism);
+        report.put("baseline", baselineStats);
+        report.put("candidate", candidateStats);
+        report.put("baselineMismatches", baselineMismatches);
+        report.put("verdictDiffCount", verdictDiffs.size());
+        report.put("verdictDiffs", verdictDiffs);
+        report.put("infrastructureFailureCount", infrastructureFailures.size());
+        report.put("infrastructureFailures", infrastructureFailures);
+        report.put("latencyP50DeltaMs", (long) candidateStats.get("latencyP50Ms") - (long) baselineStats.get("latencyP50Ms"));
+        report.put("latencyP95DeltaMs", (long) candidateStats.get("latencyP95Ms") - (long) baselineStats.get("latencyP95Ms"));
+        report.put("throughputDeltaPerSecond",
+            (double) candidateStats.get("throughputPerSecond") - (double) baselineStats.get("throughputPerSecond"));
+        return report;
+    }
+
+    /**
+     * Classifies a run's output. Unlike the live judge, which grades anything but a match as
+     * Wrong Answer, time limits and runtime errors keep their own outcome so limit changes show up.
+     */
+    static String classify(String output, String expectedOutput) {
+        if (output.startsWith("Execution Error:")) {
+            return INFRASTRUCTURE_FAILURE;
+        }
+        if (output.startsWith("Time Limit Exceeded")) {
+            return "Time Limit Exceeded";
+        }
+        if (output.startsWith("Runtime Error")) {
+            return "Runtime Error";
+        }
+        return JudgeService.verdictFor(output, expectedOutput);
+    }
+
+    // What the live judge would have recorded for this outcome
+    private static String judgedAs(String outcome) {
+        return outcome.equals("Accepted") ? outcome : "Wrong Answer";
+    }
+
+    private static Map<String, Object> failure(JudgeRecording recording, String pass, String detail) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("submissionId", recording.getSubmissionId());
+        failure.put("pass", pass);
+        failure.put("detail", detail);
+        return failure;
+    }
+
+    private Pass replay(List<JudgeRecording> recordings, JudgeRunner runner) {
+        int n = recordings.size();
+        Pass pass = new Pass(n);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                runs.add(executor.submit(() -> {
+                    JudgeRecording recording = recordings.get(index);
+                    long runStartedAt = System.nanoTime();
+                    String output;
+                    try {
+                        output = runner.run(recording);
+                    } catch (RuntimeException e) {
+                        output = "Execution Error: " + e.getMessage();
+                    }
+                    pass.latencies[index] = (System.nanoTime() - runStartedAt) / 1_000_000;
+                    pass.outcomes[index] = classify(output, recording.getExpectedOutput());
+                    if (pass.outcomes[index].equals(INFRASTRUCTURE_FAILURE)) {
+                        pass.details[index] = output;
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        pass.wallMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        return pass;
+    }
+
+    private static class Pass {
+        final String[] outcomes;
+        final String[] details;
+        final long[] latencies;
+        long wallMillis;
+
+        Pass(int size) {
+            outcomes = new String[size];
+            details = new String[size];
+            latencies = new long[size];
+        }
+
+        Map<String, Object> stats() {
+            // Failed runs return early and would make a broken candidate look fast
+            long[] sorted = new long[latencies.length];
+            int judged = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                if (!outcomes[i].equals(INFRASTRUCTURE_FAILURE)) {
+                    sorted[judged++] = latencies[i];
+                }
+            }
+            sorted = Arrays.copyOf(sorted, judged);
+            Arrays.sort(sorted);
+            Map<String, Integer> outcomeCounts = new TreeMap<>();
+            for (String outcome : outcomes) {
+                outcomeCounts.merge(outcome, 1, Integer::sum);
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("outcomes", outcomeCounts);
+            stats.put("latencyP50Ms", percentile(sorted, 0.5));
+            stats.put("latencyP95Ms", percentile(sorted, 0.95));
+            stats.put("wallTimeMs", wallMillis);
+            stats.put("throughputPerSecond", Math.round(latencies.length * 1000.0 / wallMillis * 100) / 100.0);
+            return stats;
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
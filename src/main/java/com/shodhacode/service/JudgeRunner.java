@@ -0,0 +1,10 @@
+package com.shodhacode.service;
+
+/**
+ * Produces program output for a recorded judge input: a real sandbox configuration,
+ * or {@link FakeJudgeRunner} where Docker is unavailable (CI).
+ */
+@FunctionalInterface
+public interface JudgeRunner {
+    String run(JudgeRecording recording);
+}
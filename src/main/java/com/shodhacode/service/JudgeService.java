@@ -0,0 +1,175 @@
+package com.shodhacode.service;
+
+import com.shodhacode.model.JudgeJob;
+import com.shodhacode.model.Submission;
+import com.shodhacode.repository.JudgeJobRepository;
+import com.shodhacode.repository.ProblemRepository;
+import com.shodhacode.repository.SubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Judges submissions through durable {@link JudgeJob}s. A worker must lease a job before
+ * running it, and the verdict is written in the same transaction that finishes the lease,
+ * so a job retried after a crash or a lost lease never produces a second verdict.
+ */
+@Service
+public class JudgeService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration LEASE = Duration.ofMinutes(2); // Covers waiting for a sandbox plus the run itself
+
+    @Autowired
+    private JudgeJobRepository judgeJobRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    private SandboxAutoscaler sandboxAutoscaler;
+
+    @Autowired
+    private UserProgressService userProgressService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Identifies this JVM's leases; a restarted instance never mistakes an old lease for its own
+    private final String workerId = UUID.randomUUID().toString();
+
+    // Jobs handed to the executor but not started yet, so recovery sweeps do not queue them twice
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+
+    public JudgeJob enqueue(Long submissionId) {
+        JudgeJob job = new JudgeJob();
+        job.setSubmissionId(submissionId);
+        job.setStatus("Queued");
+        job.setCreatedAt(LocalDateTime.now());
+        JudgeJob saved = judgeJobRepository.save(job);
+        sandboxAutoscaler.recordArrival();
+        return saved;
+    }
+
+    /**
+     * @return true if the caller should hand the job to {@link #processJob}, false if it is already waiting there
+     */
+    public boolean markDispatched(Long jobId) {
+        return dispatched.add(jobId);
+    }
+
+    @Async("judgeExecutor")
+    public void processJob(Long jobId) {
+        dispatched.remove(jobId);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (judgeJobRepository.claim(jobId, workerId, now, now.plus(LEASE)) == 0) {
+            return; // Finished already, or leased by another worker
+        }
+        JudgeJob job = judgeJobRepository.findById(jobId).orElseThrow();
+
+        if (job.getAttempts() > MAX_ATTEMPTS) {
+            // Keeps failing (or killing the JVM); stop retrying and tell the user
+            finish(job, "Failed", "Error: Judge failed after " + MAX_ATTEMPTS + " attempts");
+            return;
+        }
+
+        String verdict;
+        try {
+            verdict = judge(job);
+        } catch (RuntimeException e) {
+            // Infrastructure failure rather than a verdict: hand the job back for another attempt
+            judgeJobRepository.finish(jobId, workerId, "Queued", truncate(e.getMessage()));
+            return;
+        }
+        finish(job, "Done", verdict);
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        // Lets another instance pick our jobs up now instead of after the lease expires
+        judgeJobRepository.releaseAll(workerId);
+    }
+
+    private String judge(JudgeJob job) {
+        Long submissionId = job.getSubmissionId();
+        Optional<Submission> optSubmission = submissionRepository.findById(submissionId);
+        if (optSubmission.isEmpty()) {
+            return "Error: Submission not found";
+        }
+        Submission submission = optSubmission.get();
+
+        // Explicitly reload the problem to ensure we have all data
+        var problem = problemRepository.findById(submission.getProblem().getId()).orElse(null);
+        if (problem == null) {
+            return "Error: Problem not found";
+        }
+
+        // Update status to Running (no-op if an earlier attempt already wrote the verdict)
+        submissionRepository.updateStatusIfNotJudged(submissionId, "Running");
+
+        // Check if test case data exists
+        if (problem.getInputExample() == null || problem.getOutputExample() == null) {
+            return "Error: Test case not configured";
+        }
+
+        // Waits for one of the sandboxes the autoscaler currently allows
+        long queuedAtMillis = job.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String result = sandboxAutoscaler.execute(queuedAtMillis, () -> codeExecutionService.executeCode(
+            submission.getCode(),
+            problem.getInputExample()
+        ));
+
+        // The sandbox never ran the program (e.g. docker is down): retry instead of grading it
+        if (result.startsWith("Execution Error:")) {
+            throw new IllegalStateException(result);
+        }
+        return verdictFor(result, problem.getOutputExample());
+    }
+
+    /**
+     * Compares trimmed program output against the expected output
+     */
+    public static String verdictFor(String output, String expectedOutput) {
+        return output.trim().equals(expectedOutput.trim()) ? "Accepted" : "Wrong Answer";
+    }
+
+    private void finish(JudgeJob job, String jobStatus, String verdict) {
+        Boolean written = transactionTemplate.execute(tx ->
+            // Finishing the lease is the commit point: a worker that lost its lease writes nothing
+            judgeJobRepository.finish(job.getId(), workerId, jobStatus, null) == 1
+                && submissionRepository.updateStatusIfNotJudged(job.getSubmissionId(), verdict) == 1);
+
+        // Exactly one verdict per submission reaches the dashboard aggregates
+        if (Boolean.TRUE.equals(written)) {
+            submissionRepository.findById(job.getSubmissionId()).ifPresent(submission ->
+                userProgressService.recordVerdict(
+                    submission.getUser() == null ? null : submission.getUser().getId(),
+                    submission.getProblem() == null ? null : submission.getProblem().getId(),
+                    verdict, submission.getSubmittedAt()));
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,330 @@
+package com.shodhacode.service;
+
+import com.shodhacode.model.Problem;
+import com.shodhacode.model.Submission;
+import com.shodhacode.repository.ProblemRepository;
+import com.shodhacode.repository.SubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+public class PlagiarismService {
+
+    private static final int K_GRAM = 5;          // Tokens per hashed k-gram (noise threshold)
+    private static final int WINDOW = 4;          // K-grams per winnowing window (guarantee threshold = K_GRAM + WINDOW - 1)
+    // In large problems, fingerprints shared by most submissions are boilerplate; in small ones
+    // such a ratio would also hide a leaked solution copied by most users, so nothing is dropped
+    private static final int BOILERPLATE_MIN_SUBMISSIONS = 100;
+    private static final double BOILERPLATE_DOCUMENT_FREQUENCY = 0.5;
+
+    private static final Pattern TOKEN = Pattern.compile(
+        "#[^\\n]*"                                    // Comment
+        + "|\"\"\"[\\s\\S]*?\"\"\"|'''[\\s\\S]*?'''"  // Triple-quoted string
+        + "|\"(?:\\\\.|[^\"\\\\\\n])*\"|'(?:\\\\.|[^'\\\\\\n])*'" // String literal
+        + "|[A-Za-z_][A-Za-z0-9_]*"                  // Identifier or keyword
+        + "|\\d+(?:\\.\\d+)?"                         // Number
+        + "|\\*\\*|//|==|!=|<=|>=|->|[-+*/%=<>()\\[\\]{}:,.&|^~@]" // Operator
+    );
+
+    // Kept verbatim; every other identifier is normalized so renaming variables does not hide a copy
+    private static final Set<String> RESERVED = Set.of(
+        "and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else",
+        "except", "finally", "for", "from", "global", "if", "import", "in", "is", "lambda",
+        "nonlocal", "not", "or", "pass", "raise", "return", "try", "while", "with", "yield",
+        "True", "False", "None",
+        "print", "input", "int", "str", "float", "list", "dict", "set", "tuple", "map",
+        "range", "len", "sorted", "sum", "min", "max", "abs", "enumerate", "zip", "split"
+    );
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // Report jobs only coordinate; the comparison itself runs on the fork-join pool
+    private final ExecutorService reportExecutor = Executors.newSingleThreadExecutor();
+    private final ConcurrentHashMap<Long, Map<String, Object>> reports = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a background similarity check for the contest. The latest report per contest
+     * is kept in memory; if a check for the contest is still running, that one is returned.
+     *
+     * @return The report entry, with status Running
+     */
+    public Map<String, Object> startReport(Long contestId, double threshold, int limit) {
+        boolean[] started = {false};
+        Map<String, Object> report = reports.compute(contestId, (id, current) -> {
+            if (current != null && "Running".equals(current.get("status"))) {
+                return current;
+            }
+            started[0] = true;
+            Map<String, Object> running = new LinkedHashMap<>();
+            running.put("contestId", id);
+            running.put("status", "Running");
+            running.put("threshold", threshold);
+            running.put("limit", limit);
+            running.put("startedAt", LocalDateTime.now());
+            return running;
+        });
+
+        if (started[0]) {
+            reportExecutor.submit(() -> {
+                Map<String, Object> finished = new LinkedHashMap<>(report);
+                try {
+                    finished.put("pairs", findSimilarPairs(contestId, threshold, limit));
+                    finished.put("status", "Done");
+                } catch (RuntimeException e) {
+                    System.err.println("Similarity report for contest " + contestId + " failed: " + e.getMessage());
+                    finished.put("status", "Failed");
+                    finished.put("error", e.getMessage());
+                }
+                finished.put("finishedAt", LocalDateTime.now());
+                reports.put(contestId, finished);
+            });
+        }
+        return report;
+    }
+
+    /**
+     * @return The latest report for the contest, or null if none was started
+     */
+    public Map<String, Object> getReport(Long contestId) {
+        return reports.get(contestId);
+    }
+
+    /**
+     * Finds pairs of accepted submissions from different users that look copied.
+     * Each user's latest accepted solution per problem is reduced to a set of winnowing
+     * fingerprints, and candidate pairs come from an inverted fingerprint index, so only
+     * submissions sharing at least one fingerprint are ever compared.
+     *
+     * @param contestId The contest whose problems are analysed
+     * @param threshold Minimum similarity (shared fingerprints / smaller fingerprint set) to report
+     * @param limit Maximum number of pairs in the report
+     * @return Similar pairs, most similar first
+     */
+    public List<Map<String, Object>> findSimilarPairs(Long contestId, double threshold, int limit) {
+        List<Map<String, Object>> report = new ArrayList<>();
+
+        for (Problem problem : problemRepository.findByContestId(contestId)) {
+            List<Submission> submissions = latestPerUser(
+                submissionRepository.findByProblemIdAndStatus(problem.getId(), "Accepted"));
+            if (submissions.size() < 2) {
+                continue;
+            }
+
+            try {
+                report.addAll(pool.submit(() -> compare(problem, submissions, threshold)).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Similarity detection interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Similarity detection failed", e.getCause());
+            }
+        }
+
+        report.sort(Comparator.comparingDouble((Map<String, Object> pair) -> (double) pair.get("similarity")).reversed());
+        return report.size() > limit ? new ArrayList<>(report.subList(0, limit)) : report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reportExecutor.shutdownNow();
+        pool.shutdown();
+    }
+
+    private List<Submission> latestPerUser(List<Submission> submissions) {
+        Map<Long, Submission> latest = new LinkedHashMap<>();
+        for (Submission submission : submissions) {
+            if (submission.getUser() == null || submission.getCode() == null) {
+                continue;
+            }
+            latest.merge(submission.getUser().getId(), submission,
+                (a, b) -> a.getId() > b.getId() ? a : b);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    // Runs inside the fork-join pool, so the parallel streams below are split across its workers
+    List<Map<String, Object>> compare(Problem problem, List<Submission> submissions, double threshold) {
+        int n = submissions.size();
+        int[][] fingerprints = submissions.parallelStream()
+            .map(s -> fingerprint(s.getCode()))
+            .toArray(int[][]::new);
+
+        int maxPostings = n >= BOILERPLATE_MIN_SUBMISSIONS ? (int) (n * BOILERPLATE_DOCUMENT_FREQUENCY) : n;
+        Map<Integer, int[]> index = buildIndex(fingerprints, maxPostings);
+
+        return IntStream.range(0, n).parallel()
+            .boxed()
+            .flatMap(i -> {
+                Map<Integer, Integer> shared = new HashMap<>();
+                for (int hash : fingerprints[i]) {
+                    int[] postings = index.get(hash);
+                    if (postings == null) {
+                        continue;
+                    }
+                    for (int j : postings) {
+                        if (j > i) {
+                            shared.merge(j, 1, Integer::sum);
+                        }
+                    }
+                }
+
+                List<Map<String, Object>> pairs = new ArrayList<>();
+                shared.forEach((j, count) -> {
+                    double similarity = (double) count / Math.min(fingerprints[i].length, fingerprints[j].length);
+                    if (similarity >= threshold) {
+                        pairs.add(toReportEntry(problem, submissions.get(i), submissions.get(j), count, similarity));
+                    }
+                });
+                return pairs.stream();
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds fingerprint -> submission indexes. Entries are packed as (hash, doc) longs and
+     * sorted, so equal hashes form contiguous runs without per-entry boxing.
+     */
+    private Map<Integer, int[]> buildIndex(int[][] fingerprints, int maxPostings) {
+        int total = 0;
+        for (int[] fp : fingerprints) {
+            total += fp.length;
+        }
+
+        long[] entries = new long[total];
+        int pos = 0;
+        for (int doc = 0; doc < fingerprints.length; doc++) {
+            for (int hash : fingerprints[doc]) {
+                entries[pos++] = ((long) hash << 32) | doc;
+            }
+        }
+        Arrays.parallelSort(entries);
+
+        Map<Integer, int[]> index = new HashMap<>();
+        for (int start = 0; start < entries.length; ) {
+            int hash = (int) (entries[start] >> 32);
+            int end = start + 1;
+            while (end < entries.length && (int) (entries[end] >> 32) == hash) {
+                end++;
+            }
+            int size = end - start;
+            // Unique fingerprints cannot form a pair; very common ones only add noise
+            if (size >= 2 && size <= maxPostings) {
+                int[] postings = new int[size];
+                for (int k = 0; k < size; k++) {
+                    postings[k] = (int) entries[start + k];
+                }
+                index.put(hash, postings);
+            }
+            start = end;
+        }
+        return index;
+    }
+
+    /**
+     * Winnowing (Schleimer et al.): hash every k-gram of normalized tokens and keep the
+     * rightmost minimal hash of each window. Returns the distinct fingerprints, sorted.
+     */
+    static int[] fingerprint(String code) {
+        int[] tokens = tokenize(code);
+        int kgrams = tokens.length - K_GRAM + 1;
+        if (kgrams <= 0) {
+            return new int[0];
+        }
+
+        int[] hashes = new int[kgrams];
+        for (int i = 0; i < kgrams; i++) {
+            int h = 0;
+            for (int k = 0; k < K_GRAM; k++) {
+                h = h * 31 + tokens[i + k];
+            }
+            hashes[i] = h;
+        }
+
+        int window = Math.min(WINDOW, kgrams);
+        int[] selected = new int[kgrams];
+        int count = 0;
+        int lastPicked = -1;
+        for (int start = 0; start + window <= kgrams; start++) {
+            int min = start;
+            for (int i = start + 1; i < start + window; i++) {
+                if (hashes[i] <= hashes[min]) {
+                    min = i;
+                }
+            }
+            if (min != lastPicked) {
+                selected[count++] = hashes[min];
+                lastPicked = min;
+            }
+        }
+
+        return Arrays.stream(selected, 0, count).sorted().distinct().toArray();
+    }
+
+    private static int[] tokenize(String code) {
+        Matcher matcher = TOKEN.matcher(code);
+        int[] tokens = new int[64];
+        int count = 0;
+        while (matcher.find()) {
+            String token = matcher.group();
+            char first = token.charAt(0);
+            if (first == '#') {
+                continue;
+            }
+            String normalized;
+            if (first == '"' || first == '\'') {
+                normalized = "STR";
+            } else if (Character.isDigit(first)) {
+                normalized = "NUM";
+            } else if (Character.isLetter(first) || first == '_') {
+                normalized = RESERVED.contains(token) ? token : "ID";
+            } else {
+                normalized = token;
+            }
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, count * 2);
+            }
+            tokens[count++] = normalized.hashCode();
+        }
+        return Arrays.copyOf(tokens, count);
+    }
+
+    private Map<String, Object> toReportEntry(Problem problem, Submission a, Submission b, int shared, double similarity) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("problemId", problem.getId());
+        entry.put("problemTitle", problem.getTitle());
+        entry.put("submissionId1", a.getId());
+        entry.put("userId1", a.getUser().getId());
+        entry.put("username1", a.getUser().getUsername());
+        entry.put("submissionId2", b.getId());
+        entry.put("userId2", b.getUser().getId());
+        entry.put("username2", b.getUser().getUsername());
+        entry.put("sharedFingerprints", shared);
+        entry.put("similarity", Math.round(similarity * 1000) / 1000.0);
+        return entry;
+    }
+}
@@ -0,0 +1,102 @@
+package com.shodhacode.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fast lane for custom-input runs. Runs are never persisted and use their own, smaller
+ * sandbox pool, so scratch runs do not compete with graded submissions for judge slots.
+ */
+@Service
+public class RunService {
+
+    private static final int MAX_CONCURRENT_RUNS = 4;     // Sandboxes reserved for scratch runs
+    private static final int MAX_RUNS_PER_USER = 1;
+    private static final SandboxConfig FAST_LANE_SANDBOX =
+        new SandboxConfig(SandboxConfig.DEFAULT_IMAGE, "64m", "0.25", 3);
+    private static final int MAX_OUTPUT_BYTES = 64 * 1024;
+
+    private static final int RESERVED = 0;
+    private static final int STARTED = 1;
+    private static final int EXPIRED = 2;
+
+    private final CodeExecutionService codeExecutionService;
+    private final long startTimeoutMillis;
+    private final Semaphore sandboxes = new Semaphore(MAX_CONCURRENT_RUNS);
+    private final ConcurrentHashMap<Long, Integer> activeRuns = new ConcurrentHashMap<>();
+
+    /**
+     * @param startTimeoutMillis How long a reserved slot waits for its body to run before it is handed back
+     */
+    public RunService(CodeExecutionService codeExecutionService,
+                      @Value("${run.stream.start-timeout-ms:10000}") long startTimeoutMillis) {
+        this.codeExecutionService = codeExecutionService;
+        this.startTimeoutMillis = startTimeoutMillis;
+    }
+
+    /**
+     * Reserves a fast-lane sandbox for the user and returns a body that streams the run's output.
+     * If the body has not started within the start timeout (the response failed or the client
+     * went away first), the reservation is released and the body no longer runs.
+     *
+     * @return The streaming body, or null if the user or the pool is already at its limit
+     */
+    public StreamingResponseBody tryStart(Long userId, String code, String input) {
+        if (!acquireUserSlot(userId)) {
+            return null;
+        }
+        if (!sandboxes.tryAcquire()) {
+            releaseUserSlot(userId);
+            return null;
+        }
+
+        AtomicInteger state = new AtomicInteger(RESERVED);
+        CompletableFuture.runAsync(() -> {
+            if (state.compareAndSet(RESERVED, EXPIRED)) {
+                release(userId);
+            }
+        }, CompletableFuture.delayedExecutor(startTimeoutMillis, TimeUnit.MILLISECONDS));
+
+        return out -> {
+            if (!state.compareAndSet(RESERVED, STARTED)) {
+                out.write("Run expired before it started, try again\n".getBytes());
+                return;
+            }
+            try {
+                codeExecutionService.streamCode(code, input, out, FAST_LANE_SANDBOX, MAX_OUTPUT_BYTES);
+            } finally {
+                release(userId);
+            }
+        };
+    }
+
+    private void release(Long userId) {
+        sandboxes.release();
+        releaseUserSlot(userId);
+    }
+
+    private boolean acquireUserSlot(Long userId) {
+        boolean[] acquired = {false};
+        activeRuns.compute(userId, (id, running) -> {
+            int current = running == null ? 0 : running;
+            if (current >= MAX_RUNS_PER_USER) {
+                return running;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseUserSlot(Long userId) {
+        // Drop the entry at zero so idle users do not accumulate in the map
+        activeRuns.computeIfPresent(userId, (id, running) -> running <= 1 ? null : running - 1);
+    }
+}
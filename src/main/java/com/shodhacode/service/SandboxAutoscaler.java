@@ -0,0 +1,170 @@
+package com.shodhacode.service;
+
+import com.shodhacode.repository.JudgeJobRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gates judge executions behind a resizable number of sandboxes. A scheduled control loop
+ * feeds queue depth, arrival rate, execution-time percentiles and host pressure into
+ * {@link AutoscalePolicy} and grows or shrinks the gate between the configured bounds.
+ * Queue depth and arrivals are taken from judge jobs, not from the gate, so the backlog
+ * still waiting for a worker thread is counted too.
+ */
+@Service
+public class SandboxAutoscaler {
+
+    @Value("${judge.autoscale.min-sandboxes:2}")
+    private int minSandboxes;
+
+    @Value("${judge.autoscale.max-sandboxes:16}")
+    private int maxSandboxes;
+
+    @Value("${judge.autoscale.slo-ms:10000}")
+    private long sloMillis;
+
+    @Value("${judge.autoscale.cpu-high-water:0.85}")
+    private double cpuHighWater;
+
+    @Value("${judge.autoscale.memory-high-water:0.95}")
+    private double memoryHighWater;
+
+    @Autowired
+    private JudgeJobRepository judgeJobRepository;
+
+    private final ResizableSemaphore sandboxes = new ResizableSemaphore();
+    private final JudgeLoadWindow window = new JudgeLoadWindow(30_000, 8192, 512);
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private AutoscalePolicy policy;
+    private volatile int limit;
+    private volatile double lastCpuLoad;
+    private volatile double lastMemoryUsage;
+
+    @PostConstruct
+    public void init() {
+        policy = new AutoscalePolicy(minSandboxes, maxSandboxes, sloMillis, cpuHighWater, memoryHighWater);
+        resize(minSandboxes);
+    }
+
+    /**
+     * Counts a new judge job towards the arrival rate; called when the job is enqueued.
+     */
+    public void recordArrival() {
+        window.recordArrival(System.currentTimeMillis());
+    }
+
+    /**
+     * Runs a judge execution once a sandbox is free, recording run time and time-to-verdict.
+     *
+     * @param queuedAtMillis When the job was enqueued, so executor queueing counts towards time-to-verdict
+     */
+    public <T> T execute(long queuedAtMillis, Supplier<T> execution) {
+        waiting.incrementAndGet();
+        try {
+            sandboxes.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a sandbox", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        active.incrementAndGet();
+        long startedAt = System.currentTimeMillis();
+        try {
+            return execution.get();
+        } finally {
+            long finishedAt = System.currentTimeMillis();
+            window.recordExecution(finishedAt - startedAt);
+            window.recordTimeToVerdict(finishedAt - queuedAtMillis);
+            active.decrementAndGet();
+            sandboxes.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${judge.autoscale.interval-ms:2000}")
+    public void adjust() {
+        lastCpuLoad = cpuLoad();
+        lastMemoryUsage = memoryUsage();
+        int target = policy.decide(limit, active.get(), queueLength(),
+            window.arrivalRate(System.currentTimeMillis()),
+            window.executionPercentile(0.5), window.executionPercentile(0.95),
+            lastCpuLoad, lastMemoryUsage);
+        resize(target);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("minSandboxes", minSandboxes);
+        metrics.put("maxSandboxes", maxSandboxes);
+        metrics.put("targetSandboxes", limit);
+        metrics.put("activeSandboxes", active.get());
+        metrics.put("queueLength", queueLength());
+        metrics.put("arrivalRatePerSecond", window.arrivalRate(System.currentTimeMillis()));
+        metrics.put("executionP50Ms", window.executionPercentile(0.5));
+        metrics.put("executionP95Ms", window.executionPercentile(0.95));
+        metrics.put("timeToVerdictP95Ms", window.timeToVerdictPercentile(0.95));
+        metrics.put("sloMs", sloMillis);
+        metrics.put("cpuLoad", lastCpuLoad);
+        metrics.put("memoryUsage", lastMemoryUsage);
+        return metrics;
+    }
+
+    // Jobs not yet claimed by a worker plus claimed jobs still waiting for a sandbox
+    private int queueLength() {
+        return (int) judgeJobRepository.countByStatus("Queued") + waiting.get();
+    }
+
+    private synchronized void resize(int target) {
+        int delta = target - limit;
+        if (delta > 0) {
+            sandboxes.release(delta);
+        } else if (delta < 0) {
+            // Running jobs keep their permits; the gate just admits fewer until they finish
+            sandboxes.shrink(-delta);
+        }
+        limit = target;
+    }
+
+    private double cpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hostOs) {
+            double load = hostOs.getCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        double average = os.getSystemLoadAverage();
+        return average < 0 ? 0 : Math.min(1.0, average / os.getAvailableProcessors());
+    }
+
+    private double memoryUsage() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hostOs && hostOs.getTotalMemorySize() > 0) {
+            return 1.0 - (double) hostOs.getFreeMemorySize() / hostOs.getTotalMemorySize();
+        }
+        return 0;
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore() {
+            super(0, true);
+        }
+
+        void shrink(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
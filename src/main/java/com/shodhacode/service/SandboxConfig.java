@@ -0,0 +1,59 @@
+package com.shodhacode.service;
+
+/**
+ * Image and resource limits for one sandboxed run. The no-arg constructor gives the
+ * graded judge's settings; other configurations are used by the fast lane and by
+ * replays of candidate judge settings.
+ */
+public class SandboxConfig {
+
+    public static final String DEFAULT_IMAGE = "shodhacode-python-runner";
+
+    private String image = DEFAULT_IMAGE;
+    private String memoryLimit = "128m";
+    private String cpuLimit = "0.5";
+    private int timeoutSeconds = 5;
+
+    public SandboxConfig() {
+    }
+
+    public SandboxConfig(String image, String memoryLimit, String cpuLimit, int timeoutSeconds) {
+        this.image = image;
+        this.memoryLimit = memoryLimit;
+        this.cpuLimit = cpuLimit;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    // Getters and Setters
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public void setMemoryLimit(String memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    public String getCpuLimit() {
+        return cpuLimit;
+    }
+
+    public void setCpuLimit(String cpuLimit) {
+        this.cpuLimit = cpuLimit;
+    }
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+}
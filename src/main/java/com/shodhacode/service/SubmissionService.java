@@ -1,10 +1,11 @@
-                                                                                    package com.shodhacode.service;
+package com.shodhacode.service;
 
+import com.shodhacode.model.JudgeJob;
 import com.shodhacode.model.Submission;
 import com.shodhacode.repository.SubmissionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,10 +18,13 @@ public class SubmissionService {
     private SubmissionRepository submissionRepository;
 
     @Autowired
-    private CodeExecutionService codeExecutionService;
-    
+    private JudgeService judgeService;
+
+    @Autowired
+    private JudgeDispatcher judgeDispatcher;
+
     @Autowired
-    private com.shodhacode.repository.ProblemRepository problemRepository;
+    private TransactionTemplate transactionTemplate;
 
     public List<Submission> getAllSubmissions() {
         return submissionRepository.findAll();
@@ -37,66 +41,15 @@ public class SubmissionService {
         // Set initial status as Pending
         submission.setStatus("Pending");
         
-        // Save the submission
-        Submission savedSubmission = submissionRepository.save(submission);
-        
-        // Process asynchronously
-        processSubmissionAsync(savedSubmission.getId());
-        
-        return savedSubmission;
-    }
-    
-    @Async
-    public void processSubmissionAsync(Long submissionId) {
-        Optional<Submission> optSubmission = submissionRepository.findById(submissionId);
-        if (optSubmission.isEmpty()) {
-            return;
-        }
-        
-        Submission submission = optSubmission.get();
-        
-        // Explicitly reload the problem to ensure we have all data
-        var problem = problemRepository.findById(submission.getProblem().getId()).orElse(null);
-        if (problem == null) {
-            submission.setStatus("Error: Problem not found");
-            submissionRepository.save(submission);
-            return;
-        }
-        submission.setProblem(problem);
-        
-        // Update status to Running
-        submission.setStatus("Running");
-        submissionRepository.save(submission);
+        // Save the submission together with its judge job, so a crash cannot leave one without the other
+        // (save persists this new instance, so it carries the generated id afterwards)
+        JudgeJob job = transactionTemplate.execute(tx ->
+            judgeService.enqueue(submissionRepository.save(submission).getId()));
         
-        // Execute code
-        try {
-            // Check if test case data exists
-            if (submission.getProblem().getInputExample() == null || 
-                submission.getProblem().getOutputExample() == null) {
-                submission.setStatus("Error: Test case not configured");
-                submissionRepository.save(submission);
-                return;
-            }
-            
-            String result = codeExecutionService.executeCode(
-                submission.getCode(),
-                submission.getProblem().getInputExample()
-            );
-            
-            // Update submission status based on result (trim both for comparison)
-            String expectedOutput = submission.getProblem().getOutputExample().trim();
-            String actualOutput = result.trim();
-            
-            if (actualOutput.equals(expectedOutput)) {
-                submission.setStatus("Accepted");
-            } else {
-                submission.setStatus("Wrong Answer");
-            }
-        } catch (Exception e) {
-            submission.setStatus("Error: " + e.getMessage());
-        }
+        // Process asynchronously, only once the job is committed and visible to the worker
+        judgeDispatcher.dispatch(job.getId());
         
-        submissionRepository.save(submission);
+        return submission;
     }
 
     public List<Submission> getSubmissionsByUserId(Long userId) {
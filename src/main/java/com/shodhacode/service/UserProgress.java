@@ -0,0 +1,121 @@
+package com.shodhacode.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's per-problem progress in parallel primitive arrays keyed by an open-addressing
+ * problem-id table: a user with a handful of problems costs a few hundred bytes.
+ */
+class UserProgress {
+
+    static final byte NO_VERDICT = 0;
+    static final byte ERROR = 1;
+    static final byte WRONG_ANSWER = 2;
+    static final byte ACCEPTED = 3;
+
+    private long[] problemIds = new long[8];     // 0 = empty slot
+    private int[] attempts = new int[8];
+    private byte[] bestVerdicts = new byte[8];
+    private long[] firstAcceptedAt = new long[8]; // Epoch millis, 0 = not accepted yet
+    private int problemCount;
+    private int totalAttempts;
+    private int solvedCount;
+
+    synchronized void record(long problemId, String verdict, long submittedAtMillis) {
+        int slot = LongObjectMap.indexOf(problemIds, problemId);
+        if (problemIds[slot] != problemId) {
+            problemIds[slot] = problemId;
+            if (++problemCount * 2 > problemIds.length) {
+                grow();
+                slot = LongObjectMap.indexOf(problemIds, problemId);
+            }
+        }
+
+        attempts[slot]++;
+        totalAttempts++;
+
+        byte code = encode(verdict);
+        if (code == ACCEPTED) {
+            if (firstAcceptedAt[slot] == 0) {
+                solvedCount++;
+            }
+            // Verdicts can land out of order (retries, warm-up), so keep the earliest submission time
+            if (firstAcceptedAt[slot] == 0 || submittedAtMillis < firstAcceptedAt[slot]) {
+                firstAcceptedAt[slot] = submittedAtMillis;
+            }
+        }
+        if (code > bestVerdicts[slot]) {
+            bestVerdicts[slot] = code;
+        }
+    }
+
+    synchronized Map<String, Object> toSummary() {
+        List<Map<String, Object>> problems = new ArrayList<>();
+        for (int slot = 0; slot < problemIds.length; slot++) {
+            if (problemIds[slot] == 0) {
+                continue;
+            }
+            Map<String, Object> problem = new LinkedHashMap<>();
+            problem.put("problemId", problemIds[slot]);
+            problem.put("attempts", attempts[slot]);
+            problem.put("bestVerdict", decode(bestVerdicts[slot]));
+            problem.put("firstAcceptedAt", firstAcceptedAt[slot] == 0 ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(firstAcceptedAt[slot]), ZoneId.systemDefault()));
+            problems.add(problem);
+        }
+        problems.sort((a, b) -> Long.compare((long) a.get("problemId"), (long) b.get("problemId")));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("totalAttempts", totalAttempts);
+        summary.put("attemptedCount", problemCount);
+        summary.put("solvedCount", solvedCount);
+        summary.put("problems", problems);
+        return summary;
+    }
+
+    static byte encode(String verdict) {
+        if ("Accepted".equals(verdict)) {
+            return ACCEPTED;
+        }
+        if ("Wrong Answer".equals(verdict)) {
+            return WRONG_ANSWER;
+        }
+        return verdict != null && verdict.startsWith("Error") ? ERROR : NO_VERDICT;
+    }
+
+    private static String decode(byte verdict) {
+        switch (verdict) {
+            case ACCEPTED: return "Accepted";
+            case WRONG_ANSWER: return "Wrong Answer";
+            case ERROR: return "Error";
+            default: return null;
+        }
+    }
+
+    private void grow() {
+        long[] oldIds = problemIds;
+        int[] oldAttempts = attempts;
+        byte[] oldVerdicts = bestVerdicts;
+        long[] oldAccepted = firstAcceptedAt;
+        int capacity = oldIds.length * 2;
+        problemIds = new long[capacity];
+        attempts = new int[capacity];
+        bestVerdicts = new byte[capacity];
+        firstAcceptedAt = new long[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = LongObjectMap.indexOf(problemIds, oldIds[i]);
+                problemIds[slot] = oldIds[i];
+                attempts[slot] = oldAttempts[i];
+                bestVerdicts[slot] = oldVerdicts[i];
+                firstAcceptedAt[slot] = oldAccepted[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.shodhacode.service;
+
+import com.shodhacode.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps every user's dashboard summary in memory. Aggregates are rebuilt from judged
+ * submissions at startup and then updated once per verdict by {@link JudgeService},
+ * so serving a summary never touches the submissions table.
+ */
+@Service
+public class UserProgressService {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    private final LongObjectMap<UserProgress> progressByUser = new LongObjectMap<>(1024);
+
+    @PostConstruct
+    public void init() {
+        // Runs before the judge starts, so no verdict can be counted both here and live
+        List<Object[]> verdicts = submissionRepository.findJudgedVerdicts();
+        for (Object[] row : verdicts) {
+            recordVerdict((Long) row[0], (Long) row[1], (String) row[2], (LocalDateTime) row[3]);
+        }
+    }
+
+    public void recordVerdict(Long userId, Long problemId, String verdict, LocalDateTime submittedAt) {
+        if (userId == null || problemId == null) {
+            return;
+        }
+        UserProgress progress;
+        synchronized (progressByUser) {
+            progress = progressByUser.computeIfAbsent(userId, id -> new UserProgress());
+        }
+        long submittedAtMillis = submittedAt == null ? System.currentTimeMillis()
+            : submittedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        progress.record(problemId, verdict, submittedAtMillis);
+    }
+
+    public Map<String, Object> getSummary(Long userId) {
+        UserProgress progress;
+        synchronized (progressByUser) {
+            progress = progressByUser.get(userId);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("userId", userId);
+        if (progress == null) {
+            summary.put("totalAttempts", 0);
+            summary.put("attemptedCount", 0);
+            summary.put("solvedCount", 0);
+            summary.put("problems", List.of());
+        } else {
+            summary.putAll(progress.toSummary());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,75 @@
+package com.shodhacode.controller;
+
+import com.shodhacode.repository.ContestRepository;
+import com.shodhacode.repository.SubmissionRepository;
+import com.shodhacode.service.PlagiarismService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ContestController.class)
+class ContestControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private ContestRepository contestRepository;
+
+	@MockitoBean
+	private SubmissionRepository submissionRepository;
+
+	@MockitoBean
+	private PlagiarismService plagiarismService;
+
+	@BeforeEach
+	void setUp() {
+		when(contestRepository.existsById(1L)).thenReturn(true);
+	}
+
+	@Test
+	void startsSimilarityReport() throws Exception {
+		when(plagiarismService.startReport(1L, 0.6, 100)).thenReturn(Map.of("contestId", 1, "status", "Running"));
+
+		mockMvc.perform(post("/api/contests/1/similarity"))
+			.andExpect(status().isAccepted())
+			.andExpect(jsonPath("$.status").value("Running"));
+	}
+
+	@Test
+	void rejectsInvalidLimit() throws Exception {
+		mockMvc.perform(post("/api/contests/1/similarity").param("limit", "-1"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/contests/1/similarity").param("limit", "0"))
+			.andExpect(status().isBadRequest());
+		verifyNoInteractions(plagiarismService);
+	}
+
+	@Test
+	void rejectsThresholdOutsideUnitInterval() throws Exception {
+		mockMvc.perform(post("/api/contests/1/similarity").param("threshold", "0"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/contests/1/similarity").param("threshold", "1.5"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/contests/1/similarity").param("threshold", "NaN"))
+			.andExpect(status().isBadRequest());
+		verifyNoInteractions(plagiarismService);
+	}
+
+	@Test
+	void unknownContestIsNotFound() throws Exception {
+		mockMvc.perform(post("/api/contests/2/similarity"))
+			.andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,92 @@
+package com.shodhacode.controller;
+
+import com.shodhacode.repository.UserRepository;
+import com.shodhacode.service.CodeExecutionService;
+import com.shodhacode.service.RunService;
+import com.shodhacode.service.SandboxConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Real RunService behind the controller, so a body Spring cannot stream would leak slots here
+@WebMvcTest(RunController.class)
+@Import(RunService.class)
+class RunControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private CodeExecutionService codeExecutionService;
+
+	@MockitoBean
+	private UserRepository userRepository;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(userRepository.existsById(1L)).thenReturn(true);
+		doAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(2);
+			out.write("5\n".getBytes());
+			return null;
+		}).when(codeExecutionService).streamCode(anyString(), anyString(), any(OutputStream.class),
+			any(SandboxConfig.class), anyInt());
+	}
+
+	private MvcResult start(String body) throws Exception {
+		return mockMvc.perform(post("/api/run").contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+	}
+
+	@Test
+	void streamsRunOutput() throws Exception {
+		MvcResult result = start("{\"userId\": 1, \"code\": \"print(5)\", \"input\": \"\"}");
+
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(content().string("5\n"));
+	}
+
+	@Test
+	void releasesUserSlotAfterEachRun() throws Exception {
+		// One run per user at a time: a slot that is never released would turn the second run into 429
+		for (int i = 0; i < 6; i++) {
+			MvcResult result = start("{\"userId\": 1, \"code\": \"print(5)\"}");
+			mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void rejectsUnknownUser() throws Exception {
+		mockMvc.perform(post("/api/run").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"userId\": 42, \"code\": \"print(5)\"}"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void rejectsMissingCode() throws Exception {
+		mockMvc.perform(post("/api/run").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"userId\": 1, \"code\": \" \"}"))
+			.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,47 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoscaleSimulatorTests {
+
+	private static final long SLO_MILLIS = 5000;
+
+	private static final List<AutoscaleSimulator.Phase> RAMP = List.of(
+		new AutoscaleSimulator.Phase(1, 60),
+		new AutoscaleSimulator.Phase(5, 60),
+		new AutoscaleSimulator.Phase(10, 60),
+		new AutoscaleSimulator.Phase(20, 60),
+		new AutoscaleSimulator.Phase(5, 60)
+	);
+
+	@Test
+	void autoscalingKeepsTimeToVerdictUnderSlo() {
+		AutoscalePolicy policy = new AutoscalePolicy(2, 16, SLO_MILLIS, 0.85, 0.95);
+
+		for (AutoscaleSimulator.PhaseReport phase : new AutoscaleSimulator(policy, 8, 400, 42).replay(RAMP)) {
+			assertTrue(phase.getP95TimeToVerdictMillis() < SLO_MILLIS, phase.toString());
+		}
+	}
+
+	@Test
+	void fixedCapacityBreachesSloUnderTheSameRamp() {
+		AutoscalePolicy fixed = new AutoscalePolicy(2, 2, SLO_MILLIS, 0.85, 0.95);
+
+		assertTrue(new AutoscaleSimulator(fixed, 8, 400, 42).replay(RAMP).stream()
+			.anyMatch(phase -> phase.getP95TimeToVerdictMillis() >= SLO_MILLIS));
+	}
+
+	@Test
+	void cpuPressureCapsSandboxCount() {
+		// 4 cores at 0.5 CPU per sandbox saturate at 8 sandboxes, well below the max of 64
+		AutoscalePolicy policy = new AutoscalePolicy(2, 64, SLO_MILLIS, 0.85, 0.95);
+
+		for (AutoscaleSimulator.PhaseReport phase : new AutoscaleSimulator(policy, 4, 400, 42).replay(RAMP)) {
+			assertTrue(phase.getMaxSandboxes() <= 8, phase.toString());
+		}
+	}
+}
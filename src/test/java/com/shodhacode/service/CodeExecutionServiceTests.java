@@ -0,0 +1,60 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exercises the streaming limits with plain processes, so no Docker is needed
+class CodeExecutionServiceTests {
+
+	private final CodeExecutionService service = new CodeExecutionService();
+
+	private String stream(int timeoutSeconds, int maxOutputBytes, String input, String... command) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.streamProcess(new ProcessBuilder(command), input, out, timeoutSeconds, maxOutputBytes,
+			Process::destroyForcibly);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void streamsOutputAndInput() throws IOException {
+		assertEquals("hello\n", stream(5, 1024, "hello\n", "cat"));
+	}
+
+	@Test
+	void stopsProcessPastTimeLimit() throws IOException {
+		long startedAt = System.currentTimeMillis();
+
+		String output = stream(1, 1024, "", "sleep", "30");
+
+		assertTrue(output.endsWith("Time Limit Exceeded\n"), output);
+		assertTrue(System.currentTimeMillis() - startedAt < 10_000);
+	}
+
+	@Test
+	void truncatesOutputPastLimit() throws IOException {
+		String output = stream(5, 100, "", "yes");
+
+		assertTrue(output.endsWith("\nOutput Limit Exceeded\n"), output);
+		assertEquals(100 + "\nOutput Limit Exceeded\n".length(), output.length());
+	}
+
+	@Test
+	void reportsNonZeroExit() throws IOException {
+		String output = stream(5, 1024, "", "sh", "-c", "echo partial; exit 3");
+
+		assertEquals("partial\n\nRuntime Error (exit code 3)\n", output);
+	}
+
+	@Test
+	void reportsSandboxStartFailureAsExecutionError() throws IOException {
+		String output = stream(5, 1024, "", "sh", "-c", "echo 'Unable to find image' >&2; exit 125");
+
+		assertEquals("Unable to find image\n\nExecution Error: sandbox failed to start (exit code 125)\n", output);
+	}
+}
@@ -0,0 +1,51 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JudgeLoadWindowTests {
+
+	@Test
+	void burstAfterIdlePeriodIsNotDilutedOverTheWindow() {
+		JudgeLoadWindow window = new JudgeLoadWindow(30_000, 8192, 512);
+		long start = 100_000;
+		// Ten jobs over two seconds, one every 200 ms
+		for (int i = 0; i < 10; i++) {
+			window.recordArrival(start + i * 200L);
+		}
+
+		assertEquals(5.0, window.arrivalRate(start + 2000), 0.01);
+	}
+
+	@Test
+	void steadyLoadUsesTheWholeWindow() {
+		JudgeLoadWindow window = new JudgeLoadWindow(30_000, 8192, 512);
+		// Two jobs per second for a minute; only the last 30 seconds count
+		for (long t = 0; t < 60_000; t += 500) {
+			window.recordArrival(t);
+		}
+
+		assertEquals(2.0, window.arrivalRate(60_000), 0.1);
+	}
+
+	@Test
+	void fullBufferOnlyCountsArrivalsStillHeld() {
+		JudgeLoadWindow window = new JudgeLoadWindow(30_000, 100, 512);
+		// 500 jobs in 5 seconds; the buffer holds the last 100 of them, spanning one second
+		for (int i = 0; i < 500; i++) {
+			window.recordArrival(i * 10L);
+		}
+
+		assertEquals(100.0, window.arrivalRate(5000), 1.0);
+	}
+
+	@Test
+	void noRecentArrivalsMeansZeroRate() {
+		JudgeLoadWindow window = new JudgeLoadWindow(30_000, 8192, 512);
+		assertEquals(0.0, window.arrivalRate(1000), 0.0);
+
+		window.recordArrival(1000);
+		assertEquals(0.0, window.arrivalRate(40_000), 0.0);
+	}
+}
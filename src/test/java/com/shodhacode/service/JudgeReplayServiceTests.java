@@ -0,0 +1,113 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JudgeReplayServiceTests {
+
+	@Mock
+	private CodeExecutionService codeExecutionService;
+
+	@Mock
+	private SandboxAutoscaler sandboxAutoscaler;
+
+	@InjectMocks
+	private JudgeReplayService judgeReplayService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(judgeReplayService, "maxRecordings", 500);
+		ReflectionTestUtils.setField(judgeReplayService, "maxParallelism", 4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		judgeReplayService.shutdown();
+	}
+
+	private static List<JudgeRecording> recordings(int count) {
+		List<JudgeRecording> recordings = new ArrayList<>();
+		for (long i = 1; i <= count; i++) {
+			JudgeRecording recording = new JudgeRecording();
+			recording.setSubmissionId(i);
+			recording.setCode("print(5)");
+			recording.setInput("2 3");
+			recording.setExpectedOutput("5");
+			recording.setRecordedVerdict("Accepted");
+			recordings.add(recording);
+		}
+		return recordings;
+	}
+
+	private Map<String, Object> awaitFinished(Object id) throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			Map<String, Object> replay = judgeReplayService.getReplay((Long) id);
+			if (!"Running".equals(replay.get("status"))) {
+				return replay;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Replay " + id + " did not finish");
+	}
+
+	@Test
+	void runsFakeReplayInBackground() throws InterruptedException {
+		Map<String, Object> started = judgeReplayService.startReplay(recordings(10), new SandboxConfig(), 4, true);
+		assertEquals("Running", started.get("status"));
+
+		Map<String, Object> finished = awaitFinished(started.get("id"));
+		assertEquals("Done", finished.get("status"));
+		assertEquals(0, ((Map<?, ?>) finished.get("report")).get("verdictDiffCount"));
+		verifyNoInteractions(codeExecutionService, sandboxAutoscaler);
+	}
+
+	@Test
+	void rejectsIncompleteRecordings() {
+		List<JudgeRecording> recordings = recordings(3);
+		recordings.get(1).setExpectedOutput(null);
+
+		assertThrows(IllegalArgumentException.class,
+			() -> judgeReplayService.startReplay(recordings, new SandboxConfig(), 4, true));
+	}
+
+	@Test
+	void rejectsUnknownRecordedVerdict() {
+		List<JudgeRecording> recordings = recordings(3);
+		recordings.get(2).setRecordedVerdict("Pending");
+
+		assertThrows(IllegalArgumentException.class,
+			() -> judgeReplayService.startReplay(recordings, new SandboxConfig(), 4, true));
+	}
+
+	@Test
+	void runsOneReplayAtATime() throws InterruptedException {
+		// 200 recordings x 2 passes x 5 ms at parallelism 1 keeps the first replay busy for about 2 s
+		Map<String, Object> first = judgeReplayService.startReplay(recordings(200), new SandboxConfig(), 1, true);
+
+		assertThrows(IllegalStateException.class,
+			() -> judgeReplayService.startReplay(recordings(1), new SandboxConfig(), 1, true));
+		awaitFinished(first.get("id"));
+		judgeReplayService.startReplay(recordings(1), new SandboxConfig(), 1, true);
+	}
+
+	@Test
+	void refusesDockerReplayWhenDisabled() {
+		assertThrows(IllegalStateException.class,
+			() -> judgeReplayService.startReplay(recordings(1), new SandboxConfig(), 1, false));
+	}
+}
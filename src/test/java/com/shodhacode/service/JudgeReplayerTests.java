@@ -0,0 +1,98 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JudgeReplayerTests {
+
+	private static List<JudgeRecording> recordings(int count) {
+		List<JudgeRecording> recordings = new ArrayList<>();
+		for (long i = 1; i <= count; i++) {
+			JudgeRecording recording = new JudgeRecording();
+			recording.setSubmissionId(i);
+			recording.setProblemId(1L);
+			recording.setTestVersion("test");
+			recording.setCode("print(5)");
+			recording.setInput("2 3");
+			recording.setExpectedOutput("5");
+			recording.setRecordedVerdict(i % 2 == 0 ? "Accepted" : "Wrong Answer");
+			recordings.add(recording);
+		}
+		return recordings;
+	}
+
+	@Test
+	void identicalRunnersProduceNoDiffs() {
+		Map<String, Object> report = new JudgeReplayer(4)
+			.compare(recordings(20), new FakeJudgeRunner(0), new FakeJudgeRunner(0));
+
+		assertEquals(0, report.get("verdictDiffCount"));
+		assertEquals(0, report.get("baselineMismatches"));
+	}
+
+	@Test
+	void reportsVerdictsTheCandidateChanges() {
+		FakeJudgeRunner candidate = new FakeJudgeRunner(0, r -> r.getSubmissionId() % 5 == 0);
+
+		Map<String, Object> report = new JudgeReplayer(4).compare(recordings(20), new FakeJudgeRunner(0), candidate);
+
+		assertEquals(4, report.get("verdictDiffCount"));
+		for (Object diff : (List<?>) report.get("verdictDiffs")) {
+			Map<?, ?> entry = (Map<?, ?>) diff;
+			assertTrue((long) entry.get("submissionId") % 5 == 0);
+		}
+	}
+
+	@Test
+	void reportsLatencyRegression() {
+		Map<String, Object> report = new JudgeReplayer(4)
+			.compare(recordings(8), new FakeJudgeRunner(1), new FakeJudgeRunner(40));
+
+		assertTrue((long) report.get("latencyP50DeltaMs") >= 30);
+		assertTrue((double) report.get("throughputDeltaPerSecond") < 0);
+	}
+
+	@Test
+	void keepsTimeLimitsApartFromWrongAnswers() {
+		// Candidate with a tighter time limit: recorded wrong answers now time out instead
+		JudgeRunner candidate = r -> "Accepted".equals(r.getRecordedVerdict()) ? r.getExpectedOutput() : "Time Limit Exceeded";
+
+		Map<String, Object> report = new JudgeReplayer(4).compare(recordings(10), new FakeJudgeRunner(0), candidate);
+
+		assertEquals(5, report.get("verdictDiffCount"));
+		for (Object diff : (List<?>) report.get("verdictDiffs")) {
+			Map<?, ?> entry = (Map<?, ?>) diff;
+			assertEquals("Wrong Answer", entry.get("baselineVerdict"));
+			assertEquals("Time Limit Exceeded", entry.get("candidateVerdict"));
+		}
+	}
+
+	@Test
+	void reportsInfrastructureFailuresApartFromVerdictDiffs() {
+		JudgeRunner brokenImage = r -> "Execution Error: Unable to find image 'missing:latest' locally";
+
+		Map<String, Object> report = new JudgeReplayer(4).compare(recordings(6), new FakeJudgeRunner(0), brokenImage);
+
+		assertEquals(0, report.get("verdictDiffCount"));
+		assertEquals(6, report.get("infrastructureFailureCount"));
+		for (Object failure : (List<?>) report.get("infrastructureFailures")) {
+			assertEquals("candidate", ((Map<?, ?>) failure).get("pass"));
+		}
+	}
+
+	@Test
+	void baselineTimeoutsStillMatchRecordedWrongAnswers() {
+		JudgeRunner baseline = r -> "Accepted".equals(r.getRecordedVerdict()) ? r.getExpectedOutput() : "Runtime Error: boom";
+
+		Map<String, Object> report = new JudgeReplayer(2).compare(recordings(6), baseline, baseline);
+
+		assertEquals(0, report.get("baselineMismatches"));
+		assertEquals(0, report.get("verdictDiffCount"));
+	}
+}
@@ -0,0 +1,117 @@
+package com.shodhacode.service;
+
+import com.shodhacode.model.JudgeJob;
+import com.shodhacode.model.Problem;
+import com.shodhacode.model.Submission;
+import com.shodhacode.model.User;
+import com.shodhacode.repository.JudgeJobRepository;
+import com.shodhacode.repository.ProblemRepository;
+import com.shodhacode.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JudgeServiceTests {
+
+	@Mock
+	private JudgeJobRepository judgeJobRepository;
+
+	@Mock
+	private SubmissionRepository submissionRepository;
+
+	@Mock
+	private ProblemRepository problemRepository;
+
+	@Mock
+	private CodeExecutionService codeExecutionService;
+
+	@Mock
+	private SandboxAutoscaler sandboxAutoscaler;
+
+	@Mock
+	private UserProgressService userProgressService;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@InjectMocks
+	private JudgeService judgeService;
+
+	@BeforeEach
+	void setUp() {
+		Problem problem = new Problem();
+		problem.setId(1L);
+		problem.setInputExample("2 3");
+		problem.setOutputExample("5");
+
+		User user = new User();
+		user.setId(1L);
+
+		Submission submission = new Submission();
+		submission.setId(10L);
+		submission.setUser(user);
+		submission.setProblem(problem);
+		submission.setCode("print(5)");
+
+		JudgeJob job = new JudgeJob();
+		job.setId(100L);
+		job.setSubmissionId(10L);
+		job.setAttempts(1);
+		job.setCreatedAt(LocalDateTime.now());
+
+		when(judgeJobRepository.claim(eq(100L), anyString(), any(), any())).thenReturn(1);
+		when(judgeJobRepository.findById(100L)).thenReturn(Optional.of(job));
+		when(submissionRepository.findById(10L)).thenReturn(Optional.of(submission));
+		when(problemRepository.findById(1L)).thenReturn(Optional.of(problem));
+		when(sandboxAutoscaler.execute(anyLong(), any()))
+			.thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+		lenient().when(transactionTemplate.execute(any()))
+			.thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+	}
+
+	@Test
+	void requeuesJobWhenSandboxFails() {
+		when(codeExecutionService.executeCode("print(5)", "2 3"))
+			.thenReturn("Execution Error: Cannot connect to the Docker daemon");
+
+		judgeService.processJob(100L);
+
+		verify(judgeJobRepository).finish(eq(100L), anyString(), eq("Queued"), contains("Docker daemon"));
+		verify(submissionRepository, never()).updateStatusIfNotJudged(10L, "Wrong Answer");
+		verifyNoInteractions(userProgressService);
+	}
+
+	@Test
+	void recordsVerdictWhenProgramRan() {
+		when(codeExecutionService.executeCode("print(5)", "2 3")).thenReturn("5");
+		when(judgeJobRepository.finish(eq(100L), anyString(), eq("Done"), isNull())).thenReturn(1);
+		when(submissionRepository.updateStatusIfNotJudged(eq(10L), anyString())).thenReturn(1);
+
+		judgeService.processJob(100L);
+
+		verify(submissionRepository).updateStatusIfNotJudged(10L, "Accepted");
+		verify(userProgressService).recordVerdict(eq(1L), eq(1L), eq("Accepted"), any());
+	}
+}
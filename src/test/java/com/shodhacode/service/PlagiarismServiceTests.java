@@ -0,0 +1,116 @@
+package com.shodhacode.service;
+
+import com.shodhacode.model.Problem;
+import com.shodhacode.model.Submission;
+import com.shodhacode.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlagiarismServiceTests {
+
+	private static final String ORIGINAL = String.join("\n",
+		"def solve(numbers, target):",
+		"    seen = {}",
+		"    for index, value in enumerate(numbers):",
+		"        if target - value in seen:",
+		"            return [seen[target - value], index]",
+		"        seen[value] = index",
+		"    return []",
+		"",
+		"nums = list(map(int, input().split()))",
+		"print(solve(nums, 9))");
+
+	// Same program with every variable renamed, different literals and an added comment
+	private static final String RENAMED = String.join("\n",
+		"# my own solution",
+		"def find_pair(arr, goal):",
+		"    lookup = {}",
+		"    for i, x in enumerate(arr):",
+		"        if goal - x in lookup:",
+		"            return [lookup[goal - x], i]",
+		"        lookup[x] = i",
+		"    return []",
+		"",
+		"data = list(map(int, input().split()))",
+		"print(find_pair(data, 10))");
+
+	private static final String UNRELATED = String.join("\n",
+		"n = int(input())",
+		"total = 0",
+		"while n > 0:",
+		"    total += n % 10",
+		"    n //= 10",
+		"print(total)");
+
+	private static final String OTHER_UNRELATED = String.join("\n",
+		"words = input().split()",
+		"counts = dict()",
+		"for word in words:",
+		"    counts[word] = counts.get(word, 0) + 1",
+		"best = max(counts, key=counts.get)",
+		"print(best, counts[best])");
+
+	private static double similarity(String a, String b) {
+		int[] x = PlagiarismService.fingerprint(a);
+		int[] y = PlagiarismService.fingerprint(b);
+		long shared = Arrays.stream(x).filter(h -> Arrays.binarySearch(y, h) >= 0).count();
+		return (double) shared / Math.min(x.length, y.length);
+	}
+
+	private static List<Submission> submissions(String... codes) {
+		List<Submission> submissions = new ArrayList<>();
+		for (int i = 0; i < codes.length; i++) {
+			User user = new User();
+			user.setId((long) i + 1);
+			user.setUsername("user" + (i + 1));
+			Submission submission = new Submission();
+			submission.setId((long) i + 1);
+			submission.setUser(user);
+			submission.setCode(codes[i]);
+			submission.setStatus("Accepted");
+			submissions.add(submission);
+		}
+		return submissions;
+	}
+
+	@Test
+	void renamedCopyHasTheSameFingerprints() {
+		assertArrayEquals(PlagiarismService.fingerprint(ORIGINAL), PlagiarismService.fingerprint(RENAMED));
+	}
+
+	@Test
+	void unrelatedCodeDoesNotMatch() {
+		assertTrue(similarity(ORIGINAL, UNRELATED) < 0.3);
+		assertTrue(similarity(ORIGINAL, OTHER_UNRELATED) < 0.3);
+	}
+
+	@Test
+	void tooShortCodeHasNoFingerprints() {
+		assertEquals(0, PlagiarismService.fingerprint("print(1)").length);
+	}
+
+	@Test
+	void reportsSolutionCopiedByMostUsers() {
+		Problem problem = new Problem();
+		problem.setId(1L);
+		problem.setTitle("Two Sum");
+
+		List<Map<String, Object>> pairs = new PlagiarismService()
+			.compare(problem, submissions(ORIGINAL, RENAMED, ORIGINAL, UNRELATED), 0.6);
+
+		// Three copies out of four users form three pairs; the unrelated solution pairs with none
+		assertEquals(3, pairs.size());
+		for (Map<String, Object> pair : pairs) {
+			assertTrue((long) pair.get("userId1") != 4 && (long) pair.get("userId2") != 4);
+			assertEquals(1.0, pair.get("similarity"));
+		}
+	}
+}
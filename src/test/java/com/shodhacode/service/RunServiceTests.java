@@ -0,0 +1,96 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunServiceTests {
+
+	private static class StubExecution extends CodeExecutionService {
+		boolean fail;
+
+		@Override
+		public void streamCode(String code, String input, OutputStream out, SandboxConfig sandbox,
+		                       int maxOutputBytes) throws IOException {
+			if (fail) {
+				throw new IOException("client went away");
+			}
+			out.write(code.getBytes());
+		}
+	}
+
+	private final StubExecution execution = new StubExecution();
+	private final RunService runService = new RunService(execution, 60_000);
+
+	@Test
+	void limitsRunsPerUser() throws IOException {
+		StreamingResponseBody first = runService.tryStart(1L, "a", "");
+
+		assertNotNull(first);
+		assertNull(runService.tryStart(1L, "b", ""));
+		assertNotNull(runService.tryStart(2L, "c", ""));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		first.writeTo(out);
+		assertEquals("a", out.toString());
+		assertNotNull(runService.tryStart(1L, "d", ""));
+	}
+
+	@Test
+	void limitsSandboxPool() throws IOException {
+		StreamingResponseBody[] running = new StreamingResponseBody[4];
+		for (int i = 0; i < running.length; i++) {
+			running[i] = runService.tryStart((long) i + 1, "x", "");
+			assertNotNull(running[i]);
+		}
+
+		assertNull(runService.tryStart(99L, "x", ""));
+		// The rejected user must not keep a slot either
+		running[0].writeTo(new ByteArrayOutputStream());
+		assertNotNull(runService.tryStart(99L, "x", ""));
+	}
+
+	@Test
+	void releasesSlotsWhenRunFails() {
+		execution.fail = true;
+		for (int i = 0; i < 10; i++) {
+			StreamingResponseBody body = runService.tryStart(1L, "x", "");
+			assertNotNull(body);
+			boolean thrown = false;
+			try {
+				body.writeTo(new ByteArrayOutputStream());
+			} catch (IOException e) {
+				thrown = true;
+			}
+			assertTrue(thrown);
+		}
+	}
+
+	@Test
+	void releasesSlotsWhenBodyNeverRuns() throws Exception {
+		RunService quickExpiry = new RunService(execution, 50);
+		StreamingResponseBody abandoned = quickExpiry.tryStart(1L, "x", "");
+		assertNotNull(abandoned);
+		assertNull(quickExpiry.tryStart(1L, "x", ""));
+
+		Thread.sleep(300);
+		StreamingResponseBody retry = quickExpiry.tryStart(1L, "y", "");
+		assertNotNull(retry);
+
+		// The expired body must not run, or the pool would be oversubscribed
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		abandoned.writeTo(out);
+		assertTrue(out.toString().startsWith("Run expired"));
+		out.reset();
+		retry.writeTo(out);
+		assertEquals("y", out.toString());
+	}
+}
@@ -0,0 +1,100 @@
+package com.shodhacode.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserProgressTests {
+
+	private static long millis(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private static Map<?, ?> problem(Map<String, Object> summary, long problemId) {
+		for (Object entry : (List<?>) summary.get("problems")) {
+			if ((long) ((Map<?, ?>) entry).get("problemId") == problemId) {
+				return (Map<?, ?>) entry;
+			}
+		}
+		throw new AssertionError("No progress for problem " + problemId);
+	}
+
+	@Test
+	void mapKeepsEveryKeyAfterGrowing() {
+		LongObjectMap<String> map = new LongObjectMap<>(2);
+		for (long key = 1; key <= 1000; key++) {
+			map.computeIfAbsent(key * 7919, k -> "value" + k);
+		}
+
+		assertEquals(1000, map.size());
+		for (long key = 1; key <= 1000; key++) {
+			assertEquals("value" + key * 7919, map.get(key * 7919));
+		}
+		assertNull(map.get(13));
+	}
+
+	@Test
+	void mapReturnsExistingValueForRepeatedKey() {
+		LongObjectMap<StringBuilder> map = new LongObjectMap<>(4);
+		StringBuilder first = map.computeIfAbsent(42, k -> new StringBuilder("first"));
+		StringBuilder second = map.computeIfAbsent(42, k -> new StringBuilder("second"));
+
+		assertEquals(1, map.size());
+		assertSame(first, second);
+		assertEquals("first", map.get(42).toString());
+	}
+
+	@Test
+	void progressKeepsEveryProblemAfterGrowing() {
+		UserProgress progress = new UserProgress();
+		for (long problemId = 1; problemId <= 20; problemId++) {
+			progress.record(problemId, "Wrong Answer", 1000);
+			progress.record(problemId, problemId % 2 == 0 ? "Accepted" : "Wrong Answer", 2000);
+		}
+
+		Map<String, Object> summary = progress.toSummary();
+		assertEquals(40, summary.get("totalAttempts"));
+		assertEquals(20, summary.get("attemptedCount"));
+		assertEquals(10, summary.get("solvedCount"));
+		for (long problemId = 1; problemId <= 20; problemId++) {
+			assertEquals(2, problem(summary, problemId).get("attempts"));
+		}
+	}
+
+	@Test
+	void outOfOrderVerdictsKeepEarliestAcceptanceAndBestVerdict() {
+		LocalDateTime early = LocalDateTime.of(2025, 1, 15, 10, 0);
+		LocalDateTime late = early.plusMinutes(30);
+		UserProgress progress = new UserProgress();
+
+		// The later acceptance is judged first, then an earlier acceptance, then an old wrong answer
+		progress.record(7, "Accepted", millis(late));
+		progress.record(7, "Accepted", millis(early));
+		progress.record(7, "Wrong Answer", millis(early.minusMinutes(5)));
+
+		Map<String, Object> summary = progress.toSummary();
+		Map<?, ?> problem = problem(summary, 7);
+		assertEquals(1, summary.get("solvedCount"));
+		assertEquals(3, problem.get("attempts"));
+		assertEquals("Accepted", problem.get("bestVerdict"));
+		assertEquals(early, problem.get("firstAcceptedAt"));
+	}
+
+	@Test
+	void unsolvedProblemHasNoAcceptanceTime() {
+		UserProgress progress = new UserProgress();
+		progress.record(3, "Error: compilation failed", 1000);
+		progress.record(3, "Wrong Answer", 2000);
+
+		Map<?, ?> problem = problem(progress.toSummary(), 3);
+		assertEquals("Wrong Answer", problem.get("bestVerdict"));
+		assertNull(problem.get("firstAcceptedAt"));
+	}
+}